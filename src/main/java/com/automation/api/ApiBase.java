@@ -2,38 +2,102 @@ package com.automation.api;
 
 import com.automation.utils.ConfigManager;
 import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Thread-safe entry point for API calls. The base specification is built once and never
+ * mutated; every call derives a fresh request from it, so one instance can be shared by
+ * tests running with parallel="methods".
+ */
 public class ApiBase {
     protected static final Logger logger = LogManager.getLogger(ApiBase.class);
-    protected RequestSpecification request;
+    private final String baseUri;
+    private final RequestSpecification baseSpec;
+    private final Map<String, String> defaultHeaders = new ConcurrentHashMap<>();
 
     public ApiBase() {
-        RestAssured.baseURI = ConfigManager.getApiBaseUrl();
-        request = RestAssured.given()
-                .contentType(ContentType.JSON)
-                .accept(ContentType.JSON);
-        logger.debug("API Base initialized with base URI: {}", RestAssured.baseURI);
+        this(ConfigManager.getApiBaseUrl());
+    }
+
+    public ApiBase(String baseUri) {
+        this.baseUri = ApiTraffic.resolveBaseUri(baseUri);
+        RequestSpecBuilder builder = new RequestSpecBuilder()
+                .setBaseUri(this.baseUri)
+                .setContentType(ContentType.JSON)
+                .setAccept(ContentType.JSON)
+                .setConfig(ApiHttpClient.config());
+        ApiTraffic.configure(builder);
+        baseSpec = builder.build();
+        logger.debug("API Base initialized with base URI: {}", this.baseUri);
+    }
+
+    // Creates a new request from the shared base spec and the default headers
+    protected RequestSpecification newRequest() {
+        RequestSpecification request = RestAssured.given().spec(baseSpec);
+        if (!defaultHeaders.isEmpty()) {
+            request.headers(defaultHeaders);
+        }
+        return request;
     }
 
     // GET Request
     public Response get(String endpoint) {
         logger.info("Sending GET request to: {}", endpoint);
-        Response response = request.get(endpoint);
-        logResponse(response);
-        return response;
+        return sendGet(endpoint, Collections.emptyMap());
     }
 
     public Response get(String endpoint, Map<String, String> queryParams) {
         logger.info("Sending GET request to: {} with query params: {}", endpoint, queryParams);
-        Response response = request.queryParams(queryParams).get(endpoint);
+        return sendGet(endpoint, queryParams);
+    }
+
+    // Sends a GET, going through the response cache when it is enabled
+    private Response sendGet(String endpoint, Map<String, String> queryParams) {
+        if (!ResponseCache.isEnabled()) {
+            Response response = newRequest().queryParams(queryParams).get(endpoint);
+            logResponse(response);
+            return response;
+        }
+
+        String cacheKey = ResponseCache.key(baseUri, endpoint, queryParams, defaultHeaders);
+        ResponseCache.Entry cached = ResponseCache.lookup(cacheKey);
+        if (cached != null && cached.isFresh()) {
+            ResponseCache.recordHit();
+            logger.info("Serving GET {} from response cache", endpoint);
+            return cached.getResponse();
+        }
+
+        RequestSpecification request = newRequest().queryParams(queryParams);
+        if (cached != null && cached.canRevalidate()) {
+            if (cached.getEtag() != null) {
+                request.header("If-None-Match", cached.getEtag());
+            }
+            if (cached.getLastModified() != null) {
+                request.header("If-Modified-Since", cached.getLastModified());
+            }
+        }
+        Response response = request.get(endpoint);
+        if (cached != null && response.getStatusCode() == 304) {
+            ResponseCache.revalidated(cached, response);
+            logger.info("GET {} not modified, serving cached response", endpoint);
+            return cached.getResponse();
+        }
+
+        ResponseCache.recordMiss();
         logResponse(response);
+        ResponseCache.store(cacheKey, response);
         return response;
     }
 
@@ -41,7 +105,7 @@ public class ApiBase {
     public Response post(String endpoint, Object body) {
         logger.info("Sending POST request to: {}", endpoint);
         logger.debug("Request body: {}", body);
-        Response response = request.body(body).post(endpoint);
+        Response response = newRequest().body(body).post(endpoint);
         logResponse(response);
         return response;
     }
@@ -50,7 +114,7 @@ public class ApiBase {
     public Response put(String endpoint, Object body) {
         logger.info("Sending PUT request to: {}", endpoint);
         logger.debug("Request body: {}", body);
-        Response response = request.body(body).put(endpoint);
+        Response response = newRequest().body(body).put(endpoint);
         logResponse(response);
         return response;
     }
@@ -59,7 +123,7 @@ public class ApiBase {
     public Response patch(String endpoint, Object body) {
         logger.info("Sending PATCH request to: {}", endpoint);
         logger.debug("Request body: {}", body);
-        Response response = request.body(body).patch(endpoint);
+        Response response = newRequest().body(body).patch(endpoint);
         logResponse(response);
         return response;
     }
@@ -67,25 +131,65 @@ public class ApiBase {
     // DELETE Request
     public Response delete(String endpoint) {
         logger.info("Sending DELETE request to: {}", endpoint);
-        Response response = request.delete(endpoint);
+        Response response = newRequest().delete(endpoint);
         logResponse(response);
         return response;
     }
 
-    // Set Headers
+    // Async Requests
+    public CompletableFuture<Response> getAsync(String endpoint) {
+        return ApiExecutor.submit(() -> get(endpoint));
+    }
+
+    public CompletableFuture<Response> getAsync(String endpoint, Map<String, String> queryParams) {
+        return ApiExecutor.submit(() -> get(endpoint, queryParams));
+    }
+
+    public CompletableFuture<Response> postAsync(String endpoint, Object body) {
+        return ApiExecutor.submit(() -> post(endpoint, body));
+    }
+
+    public CompletableFuture<Response> putAsync(String endpoint, Object body) {
+        return ApiExecutor.submit(() -> put(endpoint, body));
+    }
+
+    public CompletableFuture<Response> patchAsync(String endpoint, Object body) {
+        return ApiExecutor.submit(() -> patch(endpoint, body));
+    }
+
+    public CompletableFuture<Response> deleteAsync(String endpoint) {
+        return ApiExecutor.submit(() -> delete(endpoint));
+    }
+
+    // Batch Requests (results are returned in call order)
+    public List<Response> batch(List<? extends Supplier<Response>> calls) {
+        return batch(calls, ConfigManager.getApiBatchMaxConcurrency());
+    }
+
+    public List<Response> batch(List<? extends Supplier<Response>> calls, int maxConcurrency) {
+        logger.info("Sending batch of {} requests (max concurrency: {})", calls.size(), maxConcurrency);
+        return ApiExecutor.runAll(calls, maxConcurrency);
+    }
+
+    // Set Headers (sent with every subsequent request from this instance)
     public ApiBase setHeader(String key, String value) {
-        request.header(key, value);
+        defaultHeaders.put(key, value);
         return this;
     }
 
     public ApiBase setHeaders(Map<String, String> headers) {
-        request.headers(headers);
+        defaultHeaders.putAll(headers);
+        return this;
+    }
+
+    public ApiBase removeHeader(String key) {
+        defaultHeaders.remove(key);
         return this;
     }
 
     // Set Auth Token
     public ApiBase setAuthToken(String token) {
-        request.header("Authorization", "Bearer " + token);
+        defaultHeaders.put("Authorization", "Bearer " + token);
         return this;
     }
 
@@ -104,13 +208,16 @@ public class ApiBase {
 
     // Log Response
     private void logResponse(Response response) {
-        logger.info("Response Status Code: {}", response.getStatusCode());
-        logger.debug("Response Time: {} ms", response.getTime());
-        logger.debug("Response Body: {}", response.getBody().asString());
+        ResponseLogger.log(response);
     }
 
     // Extract Response
     public <T> T extractResponse(Response response, Class<T> responseClass) {
         return response.as(responseClass);
     }
+
+    // Streaming extraction for large payloads (single pass, no full document tree)
+    public StreamingJsonExtractor streamJson(Response response) {
+        return StreamingJsonExtractor.from(response);
+    }
 }
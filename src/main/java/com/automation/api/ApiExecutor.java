@@ -0,0 +1,95 @@
+package com.automation.api;
+
+import com.automation.utils.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Executor for non-blocking API calls. Uses virtual threads when the running JVM
+ * supports them (Java 21+) and falls back to a bounded pool of daemon threads otherwise.
+ */
+public class ApiExecutor {
+    private static final Logger logger = LogManager.getLogger(ApiExecutor.class);
+    private static final ExecutorService executor = createExecutor();
+
+    private ApiExecutor() {
+    }
+
+    public static <T> CompletableFuture<T> submit(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(call, executor);
+    }
+
+    /**
+     * Runs all calls with at most maxConcurrency in flight and returns the results in call order.
+     * Blocks until every call has completed; the first failure is rethrown after that.
+     */
+    public static <T> List<T> runAll(List<? extends Supplier<T>> calls, int maxConcurrency) {
+        Semaphore permits = new Semaphore(Math.max(1, maxConcurrency));
+        List<CompletableFuture<T>> futures = new ArrayList<>(calls.size());
+        try {
+            for (Supplier<T> call : calls) {
+                permits.acquire();
+                futures.add(submit(call).whenComplete((result, error) -> permits.release()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Interrupted while submitting batch", e);
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .exceptionally(error -> null)
+                .join();
+        List<T> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<T> future : futures) {
+            results.add(await(future));
+        }
+        return results;
+    }
+
+    public static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private static ExecutorService createExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            ExecutorService virtualThreads = (ExecutorService) factory.invoke(null);
+            logger.info("Async API calls will run on virtual threads");
+            return virtualThreads;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            logger.debug("Virtual threads not available, using a bounded thread pool");
+        }
+
+        int threads = ConfigManager.getApiAsyncThreads();
+        AtomicInteger counter = new AtomicInteger();
+        logger.info("Async API calls will run on a pool of {} threads", threads);
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "api-async-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,53 @@
+package com.automation.api;
+
+import com.automation.utils.ConfigManager;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.CoreConnectionPNames;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Process-wide HTTP client configuration shared by every ApiBase instance.
+ * All requests go through one bounded, pooled connection manager so keep-alive
+ * connections are reused across tests and threads instead of being opened per request.
+ */
+@SuppressWarnings("deprecation")
+public class ApiHttpClient {
+    private static final Logger logger = LogManager.getLogger(ApiHttpClient.class);
+    private static final PoolingClientConnectionManager connectionManager = createConnectionManager();
+    private static final RestAssuredConfig config = createConfig();
+
+    private ApiHttpClient() {
+    }
+
+    public static RestAssuredConfig config() {
+        return config;
+    }
+
+    private static PoolingClientConnectionManager createConnectionManager() {
+        PoolingClientConnectionManager manager = new PoolingClientConnectionManager(
+                SchemeRegistryFactory.createDefault(),
+                ConfigManager.getApiKeepAliveMillis(), TimeUnit.MILLISECONDS);
+        manager.setMaxTotal(ConfigManager.getApiPoolMaxTotal());
+        manager.setDefaultMaxPerRoute(ConfigManager.getApiPoolMaxPerRoute());
+        logger.info("API connection pool initialized (max total: {}, max per route: {})",
+                manager.getMaxTotal(), manager.getDefaultMaxPerRoute());
+        return manager;
+    }
+
+    private static RestAssuredConfig createConfig() {
+        HttpClientConfig httpClientConfig = HttpClientConfig.httpClientConfig()
+                .httpClientFactory(() -> new DefaultHttpClient(connectionManager))
+                .reuseHttpClientInstance()
+                .setParam(CoreConnectionPNames.CONNECTION_TIMEOUT, ConfigManager.getApiConnectTimeoutMillis())
+                .setParam(CoreConnectionPNames.SO_TIMEOUT, ConfigManager.getApiReadTimeoutMillis())
+                .setParam(CoreConnectionPNames.STALE_CONNECTION_CHECK, true);
+        return RestAssuredConfig.config().httpClient(httpClientConfig);
+    }
+}
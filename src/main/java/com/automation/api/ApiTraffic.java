@@ -0,0 +1,73 @@
+package com.automation.api;
+
+import com.automation.utils.ConfigManager;
+import io.restassured.builder.RequestSpecBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.net.URI;
+import java.nio.file.Paths;
+
+/**
+ * Controls how ApiBase reaches the API: live, recording every interaction to a cassette,
+ * or replaying a cassette from a local in-process server (api.traffic.mode).
+ */
+public class ApiTraffic {
+    private static final Logger logger = LogManager.getLogger(ApiTraffic.class);
+    private static Cassette recordingCassette;
+    private static TrafficRecorder recorder;
+    private static ReplayServer replayServer;
+    private static String replayUrl;
+
+    public enum Mode { LIVE, RECORD, REPLAY }
+
+    private ApiTraffic() {
+    }
+
+    public static Mode getMode() {
+        return Mode.valueOf(ConfigManager.getApiTrafficMode().trim().toUpperCase());
+    }
+
+    /**
+     * Returns the base URI ApiBase should use: the local replay server in replay mode (keeping
+     * the configured path, which is part of the recorded request paths), otherwise the
+     * configured URI.
+     */
+    public static synchronized String resolveBaseUri(String configuredBaseUri) {
+        if (getMode() != Mode.REPLAY) {
+            return configuredBaseUri;
+        }
+        if (replayServer == null) {
+            replayServer = new ReplayServer(new Cassette(Paths.get(ConfigManager.getApiCassetteFile())),
+                    ConfigManager.getApiReplayLatencyMillis());
+            replayUrl = replayServer.start();
+            logger.info("Replaying API traffic for {} from {}", configuredBaseUri, replayUrl);
+        }
+        String path = URI.create(configuredBaseUri).getRawPath();
+        return path == null || path.isEmpty() || "/".equals(path) ? replayUrl : replayUrl + path.replaceAll("/+$", "");
+    }
+
+    // Adds the recording filter to the spec when running in record mode
+    public static synchronized void configure(RequestSpecBuilder builder) {
+        if (getMode() != Mode.RECORD) {
+            return;
+        }
+        if (recorder == null) {
+            recordingCassette = new Cassette(Paths.get(ConfigManager.getApiCassetteFile()));
+            recordingCassette.startRecording();
+            recorder = new TrafficRecorder(recordingCassette);
+        }
+        builder.addFilter(recorder);
+    }
+
+    public static synchronized void shutdown() {
+        if (recordingCassette != null) {
+            recordingCassette.close();
+            logger.info("API traffic recorded to: {}", recordingCassette.getFile());
+        }
+        if (replayServer != null) {
+            replayServer.stop();
+            replayServer = null;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.automation.api;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * On-disk record of API traffic: one JSON line per request/response interaction.
+ * Interactions are matched by method, path, normalized query string and request body.
+ */
+public class Cassette {
+    private static final Logger logger = LogManager.getLogger(Cassette.class);
+    // Older cassettes stored one value per header
+    private static final ObjectMapper mapper = new ObjectMapper()
+            .enable(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY);
+
+    private final Path file;
+    private BufferedWriter writer;
+
+    public Cassette(Path file) {
+        this.file = file;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    // Starts a fresh recording, replacing any previous content of the cassette
+    public synchronized void startRecording() {
+        try {
+            if (file.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+            }
+            writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            logger.info("Recording API traffic to: {}", file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open cassette for recording: " + file, e);
+        }
+    }
+
+    public synchronized void append(Interaction interaction) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.write(mapper.writeValueAsString(interaction));
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            logger.error("Failed to record interaction {} {}", interaction.method, interaction.path, e);
+        }
+    }
+
+    public synchronized void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close cassette: {}", file, e);
+            }
+            writer = null;
+        }
+    }
+
+    // Loads all interactions grouped by match key, keeping recording order within a key
+    public Map<String, List<Interaction>> load() {
+        Map<String, List<Interaction>> interactions = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                Interaction interaction = mapper.readValue(line, Interaction.class);
+                interactions.computeIfAbsent(interaction.key(), key -> new ArrayList<>()).add(interaction);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load cassette: " + file, e);
+        }
+        logger.info("Loaded {} recorded request keys from cassette: {}", interactions.size(), file);
+        return interactions;
+    }
+
+    public static String key(String method, String path, String query, String body) {
+        return method.toUpperCase() + " " + path + "?" + normalizeQuery(query) + " " + (body == null ? 0 : body.hashCode());
+    }
+
+    private static String normalizeQuery(String query) {
+        if (query == null || query.isEmpty()) {
+            return "";
+        }
+        String[] params = query.split("&");
+        Arrays.sort(params);
+        return String.join("&", params);
+    }
+
+    /**
+     * A single recorded request/response pair. Response bodies that are not text are
+     * stored base64 encoded.
+     */
+    public static class Interaction {
+        public String method;
+        public String path;
+        public String query;
+        public String requestBody;
+        public int status;
+        public Map<String, List<String>> headers = new LinkedHashMap<>();
+        public String body;
+        public boolean base64;
+
+        public String key() {
+            return Cassette.key(method, path, query, requestBody);
+        }
+
+        public void setResponseBody(byte[] bytes, String contentType) {
+            boolean text = contentType == null || contentType.isEmpty()
+                    || contentType.contains("json") || contentType.contains("text") || contentType.contains("xml");
+            base64 = !text;
+            body = text ? new String(bytes, StandardCharsets.UTF_8) : Base64.getEncoder().encodeToString(bytes);
+        }
+
+        public byte[] responseBody() {
+            if (body == null) {
+                return new byte[0];
+            }
+            return base64 ? Base64.getDecoder().decode(body) : body.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+}
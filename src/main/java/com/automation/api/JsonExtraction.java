@@ -0,0 +1,80 @@
+package com.automation.api;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a {@link StreamingJsonExtractor} pass: counts, selected values and
+ * assertion outcomes keyed by path expression.
+ */
+public class JsonExtraction {
+    private static final Logger logger = LogManager.getLogger(JsonExtraction.class);
+    private final Map<String, Integer> counts = new HashMap<>();
+    private final Map<String, List<Object>> values = new HashMap<>();
+    private final List<String> violations = new ArrayList<>();
+
+    void add(String path, boolean selected, int count, List<Object> pathValues, List<String> pathViolations) {
+        counts.merge(path, count, Math::max);
+        if (selected) {
+            values.computeIfAbsent(path, key -> new ArrayList<>()).addAll(pathValues);
+        }
+        violations.addAll(pathViolations);
+    }
+
+    public int getCount(String path) {
+        return counts.getOrDefault(path, 0);
+    }
+
+    public List<Object> getValues(String path) {
+        return Collections.unmodifiableList(values.getOrDefault(path, Collections.emptyList()));
+    }
+
+    public Object getFirst(String path) {
+        List<Object> pathValues = getValues(path);
+        return pathValues.isEmpty() ? null : pathValues.get(0);
+    }
+
+    public String getString(String path) {
+        Object value = getFirst(path);
+        return value != null ? value.toString() : null;
+    }
+
+    public List<String> getViolations() {
+        return Collections.unmodifiableList(violations);
+    }
+
+    // Assertions
+    public JsonExtraction assertCount(String path, int expected) {
+        int actual = getCount(path);
+        if (actual != expected) {
+            throw new AssertionError("Expected " + expected + " matches for '" + path + "', but found: " + actual);
+        }
+        logger.info("Count verification passed for '{}': {}", path, actual);
+        return this;
+    }
+
+    public JsonExtraction assertCountAtLeast(String path, int minimum) {
+        int actual = getCount(path);
+        if (actual < minimum) {
+            throw new AssertionError("Expected at least " + minimum + " matches for '" + path + "', but found: " + actual);
+        }
+        logger.info("Count verification passed for '{}': {}", path, actual);
+        return this;
+    }
+
+    public JsonExtraction assertExpectations() {
+        if (!violations.isEmpty()) {
+            int shown = Math.min(violations.size(), 10);
+            throw new AssertionError(violations.size() + " JSON expectation(s) failed:\n"
+                    + String.join("\n", violations.subList(0, shown))
+                    + (violations.size() > shown ? "\n..." : ""));
+        }
+        return this;
+    }
+}
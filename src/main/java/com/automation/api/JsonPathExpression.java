@@ -0,0 +1,158 @@
+package com.automation.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled path expression used by {@link StreamingJsonExtractor}.
+ * Supports a small JSONPath subset: {@code $.users[*].id}, {@code users[0].name},
+ * {@code data.*.value}. The leading {@code $.} is optional; {@code *} and {@code [*]}
+ * match any field or array element. Other JSONPath syntax, such as recursive descent
+ * ({@code $..id}), is rejected. Compiled expressions are cached across calls.
+ */
+public final class JsonPathExpression {
+    private static final Map<String, JsonPathExpression> cache = new ConcurrentHashMap<>();
+    private static final int MAX_CACHED_EXPRESSIONS = 1024;
+    static final int ANY_INDEX = -1;
+
+    private final String expression;
+    // For each segment either a field name, or null for an array index
+    private final String[] names;
+    private final int[] indices;
+    private final boolean[] wildcards;
+
+    private JsonPathExpression(String expression, List<Segment> segments) {
+        this.expression = expression;
+        int size = segments.size();
+        this.names = new String[size];
+        this.indices = new int[size];
+        this.wildcards = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            Segment segment = segments.get(i);
+            names[i] = segment.name;
+            indices[i] = segment.index;
+            wildcards[i] = segment.wildcard;
+        }
+    }
+
+    public static JsonPathExpression compile(String expression) {
+        JsonPathExpression compiled = cache.get(expression);
+        if (compiled == null) {
+            compiled = new JsonPathExpression(expression, parse(expression));
+            if (cache.size() < MAX_CACHED_EXPRESSIONS) {
+                cache.putIfAbsent(expression, compiled);
+            }
+        }
+        return compiled;
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    int length() {
+        return names.length;
+    }
+
+    /**
+     * Checks whether the segment at position matches the current location, given as a
+     * field name (for object members) or an array index (when name is null).
+     */
+    boolean matches(int position, String name, int index) {
+        if (wildcards[position]) {
+            return true;
+        }
+        if (names[position] != null) {
+            return names[position].equals(name);
+        }
+        return name == null && indices[position] == index;
+    }
+
+    private static List<Segment> parse(String expression) {
+        String path = expression.trim();
+        if (path.startsWith("$")) {
+            path = path.substring(1);
+        }
+        List<Segment> segments = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                if (path.startsWith(".", i + 1)) {
+                    throw new IllegalArgumentException("Recursive descent '..' is not supported in path expression: " + expression);
+                }
+                // Only the dot after "$" or after a bracket segment may follow no field name
+                if (field.length() == 0 && i > 0 && path.charAt(i - 1) != ']' || i == path.length() - 1) {
+                    throw new IllegalArgumentException("Empty segment in path expression: " + expression);
+                }
+                addField(segments, field);
+            } else if (c == '[') {
+                addField(segments, field);
+                int end = path.indexOf(']', i);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unclosed '[' in path expression: " + expression);
+                }
+                String segment = path.substring(i, end + 1);
+                String inner = segment.substring(1, segment.length() - 1).trim();
+                if (isQuoted(inner)) {
+                    // A quoted key is always a field name, even '*' or '0'
+                    segments.add(Segment.field(inner.substring(1, inner.length() - 1)));
+                } else if (inner.equals("*")) {
+                    segments.add(Segment.WILDCARD);
+                } else if (inner.matches("\\d+")) {
+                    segments.add(Segment.index(Integer.parseInt(inner)));
+                } else {
+                    throw new IllegalArgumentException("Unsupported segment '" + segment + "' in path expression: " + expression);
+                }
+                i = end;
+            } else {
+                field.append(c);
+            }
+        }
+        addField(segments, field);
+        return segments;
+    }
+
+    private static boolean isQuoted(String inner) {
+        return inner.length() >= 2 && (inner.charAt(0) == '\'' || inner.charAt(0) == '"')
+                && inner.charAt(inner.length() - 1) == inner.charAt(0);
+    }
+
+    private static void addField(List<Segment> segments, StringBuilder field) {
+        if (field.length() > 0) {
+            String name = field.toString();
+            segments.add(name.equals("*") ? Segment.WILDCARD : Segment.field(name));
+            field.setLength(0);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    // One parsed step of the path: a field name, an array index, or a wildcard
+    private static final class Segment {
+        static final Segment WILDCARD = new Segment(null, ANY_INDEX, true);
+
+        final String name;
+        final int index;
+        final boolean wildcard;
+
+        private Segment(String name, int index, boolean wildcard) {
+            this.name = name;
+            this.index = index;
+            this.wildcard = wildcard;
+        }
+
+        static Segment field(String name) {
+            return new Segment(name, ANY_INDEX, false);
+        }
+
+        static Segment index(int index) {
+            return new Segment(null, index, false);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.automation.api;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an API test method as a load scenario. When load mode is enabled
+ * (-Dload.mode=true) the method is invoked repeatedly by {@link LoadTestRunner}
+ * instead of once; otherwise the annotation has no effect.
+ * Values left at their defaults are taken from the load.* configuration.
+ * Point load scenarios at a server you own or at a replayed cassette, never a shared public API.
+ * Extent step logs written inside the method are dropped during a load run; the report gets
+ * the aggregated throughput, error and latency results instead.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface LoadTest {
+
+    /** Target requests per second across all workers, 0 for as fast as possible. */
+    int rps() default -1;
+
+    /** Number of concurrent workers. */
+    int concurrency() default -1;
+
+    /** Duration of the measured run in seconds. */
+    int durationSeconds() default -1;
+
+    /** Highest acceptable error rate (0.0 - 1.0) before the test is failed. */
+    double maxErrorRate() default 0.01;
+}
@@ -0,0 +1,126 @@
+package com.automation.api;
+
+import com.automation.reports.ExtentManager;
+import com.automation.utils.ConfigManager;
+import com.automation.utils.LatencyHistogram;
+import com.aventstack.extentreports.Status;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Outcome of a {@link LoadTestRunner} run: throughput, error rate and latency percentiles.
+ * Latencies are kept in microseconds and reported in milliseconds.
+ */
+public class LoadTestResult {
+    private static final Logger logger = LogManager.getLogger(LoadTestResult.class);
+    private static final String LOAD_RESULTS_DIR = "test-output/load/";
+
+    private final String name;
+    private final int targetRps;
+    private final int concurrency;
+    private final long elapsedMillis;
+    private final long successes;
+    private final long errors;
+    private final Map<String, Long> errorTypes;
+    private final LatencyHistogram latencies;
+
+    LoadTestResult(String name, int targetRps, int concurrency, long elapsedMillis,
+                   long successes, long errors, Map<String, Long> errorTypes, LatencyHistogram latencies) {
+        this.name = name;
+        this.targetRps = targetRps;
+        this.concurrency = concurrency;
+        this.elapsedMillis = elapsedMillis;
+        this.successes = successes;
+        this.errors = errors;
+        this.errorTypes = errorTypes;
+        this.latencies = latencies;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getRequests() {
+        return successes + errors;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public double getErrorRate() {
+        return getRequests() == 0 ? 0 : (double) errors / getRequests();
+    }
+
+    public double getThroughput() {
+        return elapsedMillis == 0 ? 0 : getRequests() * 1000.0 / elapsedMillis;
+    }
+
+    public double getPercentileMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("name", name);
+        map.put("targetRps", targetRps);
+        map.put("concurrency", concurrency);
+        map.put("durationMillis", elapsedMillis);
+        map.put("requests", getRequests());
+        map.put("errors", errors);
+        map.put("errorRate", getErrorRate());
+        map.put("throughputRps", getThroughput());
+
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("meanMs", latencies.getMean() / 1000.0);
+        latency.put("p50Ms", getPercentileMillis(50));
+        latency.put("p90Ms", getPercentileMillis(90));
+        latency.put("p99Ms", getPercentileMillis(99));
+        latency.put("p999Ms", getPercentileMillis(99.9));
+        latency.put("maxMs", latencies.getMax() / 1000.0);
+        map.put("latency", latency);
+        map.put("errorTypes", errorTypes);
+        return map;
+    }
+
+    // Publishes the result to the log, the Extent report and a JSON file under test-output/load
+    public void publish() {
+        logger.info("Load test '{}': {} requests, {} errors, {} req/s, p50 {} ms, p99 {} ms",
+                name, getRequests(), errors, format(getThroughput()),
+                format(getPercentileMillis(50)), format(getPercentileMillis(99)));
+
+        ExtentManager.logTable(Status.INFO, new String[][]{
+                {"Requests", String.valueOf(getRequests())},
+                {"Errors", errors + " (" + format(getErrorRate() * 100) + "%)"},
+                {"Throughput", format(getThroughput()) + " req/s"},
+                {"p50", format(getPercentileMillis(50)) + " ms"},
+                {"p90", format(getPercentileMillis(90)) + " ms"},
+                {"p99", format(getPercentileMillis(99)) + " ms"},
+                {"p999", format(getPercentileMillis(99.9)) + " ms"},
+                {"Max", format(latencies.getMax() / 1000.0) + " ms"}
+        });
+
+        try {
+            File directory = new File(LOAD_RESULTS_DIR);
+            directory.mkdirs();
+            String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
+            File file = new File(directory, name + "_shard-" + ConfigManager.getShardIndex() + "_" + timestamp + ".json");
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file, toMap());
+            logger.info("Load test results written to: {}", file.getPath());
+        } catch (IOException e) {
+            logger.error("Failed to write load test results for: {}", name, e);
+        }
+    }
+
+    private static String format(double value) {
+        return String.format("%.2f", value);
+    }
+}
@@ -0,0 +1,168 @@
+package com.automation.api;
+
+import com.automation.utils.ConfigManager;
+import com.automation.utils.LatencyHistogram;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.ITestResult;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs a scenario repeatedly at a target rate or concurrency for a fixed duration.
+ * With a target rate, latency is measured from each request's scheduled start time so
+ * that a slow server cannot hide queueing delay (coordinated omission).
+ */
+public class LoadTestRunner {
+    private static final Logger logger = LogManager.getLogger(LoadTestRunner.class);
+
+    private final String name;
+    private int targetRps = ConfigManager.getLoadRps();
+    private int concurrency = ConfigManager.getLoadConcurrency();
+    private Duration duration = Duration.ofSeconds(ConfigManager.getLoadDurationSeconds());
+
+    public LoadTestRunner(String name) {
+        this.name = name;
+    }
+
+    public LoadTestRunner targetRps(int targetRps) {
+        this.targetRps = targetRps;
+        return this;
+    }
+
+    public LoadTestRunner concurrency(int concurrency) {
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    public LoadTestRunner duration(Duration duration) {
+        this.duration = duration;
+        return this;
+    }
+
+    public static boolean isLoadModeEnabled() {
+        return ConfigManager.isLoadModeEnabled();
+    }
+
+    /**
+     * Runs a @LoadTest annotated test method as a load scenario and fails the result
+     * when the error rate exceeds the annotation's limit. The method runs on worker threads
+     * that have no Extent test, so ExtentManager calls inside it are not reported.
+     */
+    public static void runTestMethod(Object instance, ITestResult testResult) {
+        Method method = testResult.getMethod().getConstructorOrMethod().getMethod();
+        LoadTest settings = method.getAnnotation(LoadTest.class);
+        Object[] parameters = testResult.getParameters();
+
+        LoadTestRunner runner = new LoadTestRunner(method.getDeclaringClass().getSimpleName() + "." + method.getName());
+        if (settings.rps() >= 0) {
+            runner.targetRps(settings.rps());
+        }
+        if (settings.concurrency() > 0) {
+            runner.concurrency(settings.concurrency());
+        }
+        if (settings.durationSeconds() > 0) {
+            runner.duration(Duration.ofSeconds(settings.durationSeconds()));
+        }
+
+        LoadTestResult result = runner.run(() -> {
+            try {
+                method.invoke(instance, parameters);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException(cause);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        result.publish();
+
+        if (result.getErrorRate() > settings.maxErrorRate()) {
+            testResult.setStatus(ITestResult.FAILURE);
+            testResult.setThrowable(new AssertionError(String.format(
+                    "Load test error rate %.4f exceeded the limit of %.4f", result.getErrorRate(), settings.maxErrorRate())));
+        }
+    }
+
+    public LoadTestResult run(Runnable scenario) {
+        logger.info("Starting load test '{}' (target rps: {}, concurrency: {}, duration: {}s)",
+                name, targetRps > 0 ? targetRps : "unbounded", concurrency, duration.getSeconds());
+
+        LatencyHistogram latencies = new LatencyHistogram();
+        LongAdder successes = new LongAdder();
+        LongAdder errors = new LongAdder();
+        Map<String, LongAdder> errorTypes = new ConcurrentHashMap<>();
+        long intervalNanos = targetRps > 0 ? 1_000_000_000L / targetRps : 0;
+        long startNanos = System.nanoTime();
+        long deadline = startNanos + duration.toNanos();
+        AtomicLong nextSlot = new AtomicLong(startNanos);
+
+        Runnable worker = () -> {
+            while (true) {
+                long scheduled;
+                if (intervalNanos > 0) {
+                    scheduled = nextSlot.getAndAdd(intervalNanos);
+                    if (scheduled >= deadline) {
+                        return;
+                    }
+                    long wait;
+                    while ((wait = scheduled - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                } else {
+                    scheduled = System.nanoTime();
+                    if (scheduled >= deadline) {
+                        return;
+                    }
+                }
+
+                try {
+                    scenario.run();
+                    successes.increment();
+                } catch (Throwable t) {
+                    errors.increment();
+                    errorTypes.computeIfAbsent(t.getClass().getSimpleName(), key -> new LongAdder()).increment();
+                }
+                latencies.record((System.nanoTime() - scheduled) / 1000);
+            }
+        };
+
+        List<Thread> workers = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Thread thread = new Thread(worker, "load-" + name + "-" + (i + 1));
+            thread.setDaemon(true);
+            workers.add(thread);
+            thread.start();
+        }
+        for (Thread thread : workers) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        Map<String, Long> errorSummary = new TreeMap<>();
+        errorTypes.forEach((type, count) -> errorSummary.put(type, count.sum()));
+        return new LoadTestResult(name, targetRps, concurrency, elapsedMillis,
+                successes.sum(), errors.sum(), errorSummary, latencies);
+    }
+}
@@ -0,0 +1,128 @@
+package com.automation.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process HTTP server on the loopback interface that serves recorded interactions
+ * from a {@link Cassette}. Repeated requests with the same key are answered in recording
+ * order, repeating the last recording once they run out. An optional fixed latency can be
+ * injected before each response.
+ */
+public class ReplayServer {
+    private static final Logger logger = LogManager.getLogger(ReplayServer.class);
+    private static final List<String> SKIPPED_HEADERS =
+            List.of("content-length", "transfer-encoding", "content-encoding", "connection", "keep-alive", "date");
+
+    private final Map<String, List<Cassette.Interaction>> interactions;
+    private final Map<String, AtomicInteger> cursors = new ConcurrentHashMap<>();
+    private final long latencyMillis;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public ReplayServer(Cassette cassette, long latencyMillis) {
+        this.interactions = cassette.load();
+        this.latencyMillis = latencyMillis;
+    }
+
+    public synchronized String start() {
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to start API replay server", e);
+        }
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "api-replay-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        String url = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+        logger.info("API replay server started at {}", url);
+        return url;
+    }
+
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            logger.info("API replay server stopped");
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String body = readBody(exchange.getRequestBody());
+            String key = Cassette.key(exchange.getRequestMethod(), exchange.getRequestURI().getRawPath(),
+                    exchange.getRequestURI().getRawQuery(), body.isEmpty() ? null : body);
+            Cassette.Interaction interaction = next(key);
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+
+            if (interaction == null) {
+                logger.warn("No recorded interaction for: {}", key);
+                byte[] message = ("{\"error\":\"No recorded interaction for " + exchange.getRequestMethod() + " "
+                        + exchange.getRequestURI() + "\"}").getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(404, message.length);
+                exchange.getResponseBody().write(message);
+                return;
+            }
+
+            // Bodies are stored decoded, so the original Content-Encoding no longer applies
+            interaction.headers.forEach((name, values) -> {
+                if (!SKIPPED_HEADERS.contains(name.toLowerCase())) {
+                    values.forEach(value -> exchange.getResponseHeaders().add(name, value));
+                }
+            });
+            byte[] responseBody = interaction.responseBody();
+            boolean noBody = responseBody.length == 0 || "HEAD".equals(exchange.getRequestMethod());
+            exchange.sendResponseHeaders(interaction.status, noBody ? -1 : responseBody.length);
+            if (!noBody) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(responseBody);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Cassette.Interaction next(String key) {
+        List<Cassette.Interaction> recorded = interactions.get(key);
+        if (recorded == null || recorded.isEmpty()) {
+            return null;
+        }
+        int index = cursors.computeIfAbsent(key, k -> new AtomicInteger()).getAndIncrement();
+        return recorded.get(Math.min(index, recorded.size() - 1));
+    }
+
+    private static String readBody(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        in.transferTo(out);
+        return out.toString(StandardCharsets.UTF_8.name());
+    }
+}
@@ -0,0 +1,201 @@
+package com.automation.api;
+
+import com.automation.utils.ConfigManager;
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in, per-run HTTP cache for idempotent GET requests made through ApiBase.
+ * Honours Cache-Control (no-store, no-cache, max-age) and revalidates stale entries with
+ * If-None-Match / If-Modified-Since. Entries live in an LRU bounded by total body size
+ * and a maximum age (api.cache.max.bytes, api.cache.ttl.seconds).
+ */
+public class ResponseCache {
+    private static final Logger logger = LogManager.getLogger(ResponseCache.class);
+    private static final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private static long totalBytes;
+
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder revalidations = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LongAdder evictions = new LongAdder();
+
+    private ResponseCache() {
+    }
+
+    public static boolean isEnabled() {
+        return ConfigManager.isApiCacheEnabled();
+    }
+
+    public static String key(String baseUri, String endpoint, Map<String, String> queryParams, Map<String, String> headers) {
+        return baseUri + endpoint + " " + new TreeMap<>(queryParams) + " " + new TreeMap<>(headers);
+    }
+
+    public static synchronized Entry lookup(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() > entry.expiresAt) {
+            remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    // Records a response served without contacting the server
+    public static void recordHit() {
+        hits.increment();
+    }
+
+    public static void recordMiss() {
+        misses.increment();
+    }
+
+    /**
+     * Stores a 200 response if its headers allow it. Responses without validators or
+     * freshness information are not stored since they could never be reused.
+     */
+    public static synchronized void store(String key, Response response) {
+        if (response.getStatusCode() != 200) {
+            return;
+        }
+        CacheControl cacheControl = CacheControl.parse(response.getHeader("Cache-Control"));
+        String etag = response.getHeader("ETag");
+        String lastModified = response.getHeader("Last-Modified");
+        if (cacheControl.noStore || "*".equals(response.getHeader("Vary"))
+                || (cacheControl.maxAgeSeconds <= 0 && etag == null && lastModified == null)) {
+            return;
+        }
+
+        long size = response.asByteArray().length;
+        long maxBytes = ConfigManager.getApiCacheMaxBytes();
+        if (size > maxBytes) {
+            return;
+        }
+        remove(key);
+        long now = System.currentTimeMillis();
+        Entry entry = new Entry(response, size, etag, lastModified,
+                now + TimeUnit.SECONDS.toMillis(ConfigManager.getApiCacheTtlSeconds()));
+        entry.refresh(cacheControl, now);
+        entries.put(key, entry);
+        totalBytes += size;
+        evictToFit(maxBytes);
+    }
+
+    // Marks a stale entry as fresh again after the server answered 304 Not Modified
+    public static synchronized void revalidated(Entry entry, Response notModified) {
+        revalidations.increment();
+        entry.refresh(CacheControl.parse(notModified.getHeader("Cache-Control")), System.currentTimeMillis());
+    }
+
+    public static void logStatistics() {
+        logger.info("API response cache: {} hits, {} revalidated (304), {} misses, {} evictions, {} entries ({} bytes)",
+                hits.sum(), revalidations.sum(), misses.sum(), evictions.sum(), size(), bytes());
+    }
+
+    public static String getStatistics() {
+        return hits.sum() + " hits, " + revalidations.sum() + " revalidated, " + misses.sum() + " misses";
+    }
+
+    public static synchronized int size() {
+        return entries.size();
+    }
+
+    public static synchronized long bytes() {
+        return totalBytes;
+    }
+
+    private static void evictToFit(long maxBytes) {
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().size;
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private static void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.size;
+        }
+    }
+
+    public static class Entry {
+        private final Response response;
+        private final long size;
+        private final String etag;
+        private final String lastModified;
+        private final long expiresAt;
+        private volatile long freshUntil;
+
+        private Entry(Response response, long size, String etag, String lastModified, long expiresAt) {
+            this.response = response;
+            this.size = size;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.expiresAt = expiresAt;
+        }
+
+        private void refresh(CacheControl cacheControl, long now) {
+            freshUntil = cacheControl.noCache ? 0 : now + TimeUnit.SECONDS.toMillis(Math.max(0, cacheControl.maxAgeSeconds));
+        }
+
+        public boolean isFresh() {
+            return System.currentTimeMillis() < freshUntil;
+        }
+
+        public boolean canRevalidate() {
+            return etag != null || lastModified != null;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        public Response getResponse() {
+            return response;
+        }
+    }
+
+    private static class CacheControl {
+        private boolean noStore;
+        private boolean noCache;
+        private long maxAgeSeconds = -1;
+
+        private static CacheControl parse(String header) {
+            CacheControl cacheControl = new CacheControl();
+            if (header == null) {
+                return cacheControl;
+            }
+            for (String directive : header.toLowerCase().split(",")) {
+                String value = directive.trim();
+                if (value.equals("no-store")) {
+                    cacheControl.noStore = true;
+                } else if (value.equals("no-cache")) {
+                    cacheControl.noCache = true;
+                } else if (value.startsWith("max-age=")) {
+                    try {
+                        cacheControl.maxAgeSeconds = Long.parseLong(value.substring("max-age=".length()).replace("\"", ""));
+                    } catch (NumberFormatException e) {
+                        cacheControl.maxAgeSeconds = 0;
+                    }
+                }
+            }
+            return cacheControl;
+        }
+    }
+}
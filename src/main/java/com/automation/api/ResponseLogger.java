@@ -0,0 +1,103 @@
+package com.automation.api;
+
+import com.automation.utils.ConfigManager;
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Response logging for ApiBase. Bodies are only decoded when the debug line will actually
+ * be emitted, are truncated to a configurable byte cap, and successful bodies can be sampled.
+ * The last response of each test thread is kept so its full body can be written to a side
+ * file when the test fails.
+ */
+public class ResponseLogger {
+    private static final Logger logger = LogManager.getLogger(ResponseLogger.class);
+    private static final String BODY_DIR = "test-output/api-bodies/";
+    private static final AtomicLong successCounter = new AtomicLong();
+    private static final ThreadLocal<Response> lastResponse = new ThreadLocal<>();
+
+    private ResponseLogger() {
+    }
+
+    public static void log(Response response) {
+        lastResponse.set(response);
+        logger.info("Response Status Code: {}", response.getStatusCode());
+        if (!logger.isDebugEnabled()) {
+            return;
+        }
+        logger.debug("Response Time: {} ms", response.getTime());
+
+        boolean failure = response.getStatusCode() >= 400;
+        int sampleRate = ConfigManager.getApiLogBodySampleRate();
+        if (!failure && sampleRate > 1 && successCounter.incrementAndGet() % sampleRate != 0) {
+            return;
+        }
+        logger.debug("Response Body: {}", truncatedBody(response));
+    }
+
+    /**
+     * Writes the full body of the current thread's last response, if any, to
+     * test-output/api-bodies and returns the file path.
+     */
+    public static String writeLastResponse(String testName) {
+        Response response = lastResponse.get();
+        if (response == null || !ConfigManager.writeApiBodiesOnFailure()) {
+            return null;
+        }
+        try {
+            Path directory = Paths.get(BODY_DIR);
+            Files.createDirectories(directory);
+            Path file = directory.resolve(testName + "_" + System.currentTimeMillis() + ".txt");
+            StringBuilder content = new StringBuilder()
+                    .append(response.getStatusLine()).append(System.lineSeparator())
+                    .append(response.getHeaders()).append(System.lineSeparator())
+                    .append(System.lineSeparator());
+            Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+            Files.write(file, response.asByteArray(), StandardOpenOption.APPEND);
+            logger.info("Response body of failed test written to: {}", file);
+            return file.toString();
+        } catch (IOException e) {
+            logger.error("Failed to write response body for test: {}", testName, e);
+            return null;
+        }
+    }
+
+    public static void clear() {
+        lastResponse.remove();
+    }
+
+    private static String truncatedBody(Response response) {
+        byte[] body = response.asByteArray();
+        int cap = ConfigManager.getApiLogBodyMaxBytes();
+        Charset charset = charsetOf(response.getContentType());
+        if (cap <= 0 || body.length <= cap) {
+            return new String(body, charset);
+        }
+        return new String(body, 0, cap, charset) + "... [truncated " + (body.length - cap) + " of " + body.length + " bytes]";
+    }
+
+    private static Charset charsetOf(String contentType) {
+        if (contentType != null) {
+            int index = contentType.toLowerCase().indexOf("charset=");
+            if (index >= 0) {
+                String name = contentType.substring(index + "charset=".length()).split(";")[0].trim().replace("\"", "");
+                try {
+                    return Charset.forName(name);
+                } catch (IllegalArgumentException e) {
+                    logger.debug("Unknown response charset: {}", name);
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+}
@@ -0,0 +1,279 @@
+package com.automation.api;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Evaluates a set of path expressions against a JSON document in a single streaming pass.
+ * Only selected values are materialized: counts and assertions are computed on the fly and
+ * subtrees no expression can match are skipped without being parsed into objects.
+ *
+ * <pre>
+ * JsonExtraction extraction = apiBase.streamJson(response)
+ *         .count("users[*]")
+ *         .first("users[0].id")
+ *         .expect("users[*].email", value -&gt; value.toString().contains("@"), "valid email")
+ *         .evaluate();
+ * </pre>
+ */
+public class StreamingJsonExtractor {
+    private static final JsonFactory jsonFactory = new JsonFactory();
+    private static final ObjectMapper mapper = new ObjectMapper(jsonFactory);
+    private static final int NO_MATCH = 0;
+    private static final int PREFIX_MATCH = 1;
+    private static final int FULL_MATCH = 2;
+
+    private final InputStream input;
+    private final List<Query> queries = new ArrayList<>();
+
+    // Current location in the document: field name per depth, or null plus an index for array elements
+    private String[] names = new String[16];
+    private int[] indices = new int[16];
+
+    private StreamingJsonExtractor(InputStream input) {
+        this.input = input;
+    }
+
+    public static StreamingJsonExtractor from(Response response) {
+        return new StreamingJsonExtractor(response.asInputStream());
+    }
+
+    public static StreamingJsonExtractor from(InputStream input) {
+        return new StreamingJsonExtractor(input);
+    }
+
+    // Counts the values matched by the path
+    public StreamingJsonExtractor count(String path) {
+        queries.add(new Query(JsonPathExpression.compile(path), Query.Kind.COUNT, Integer.MAX_VALUE, null, null));
+        return this;
+    }
+
+    // Collects every value matched by the path
+    public StreamingJsonExtractor select(String path) {
+        return select(path, Integer.MAX_VALUE);
+    }
+
+    // Collects up to limit values matched by the path
+    public StreamingJsonExtractor select(String path, int limit) {
+        queries.add(new Query(JsonPathExpression.compile(path), Query.Kind.SELECT, limit, null, null));
+        return this;
+    }
+
+    // Collects the first value matched by the path
+    public StreamingJsonExtractor first(String path) {
+        return select(path, 1);
+    }
+
+    // Checks every value matched by the path against the condition
+    public StreamingJsonExtractor expect(String path, Predicate<Object> condition, String description) {
+        queries.add(new Query(JsonPathExpression.compile(path), Query.Kind.EXPECT, Integer.MAX_VALUE, condition, description));
+        return this;
+    }
+
+    public JsonExtraction evaluate() {
+        try (InputStream in = input; JsonParser parser = jsonFactory.createParser(in)) {
+            JsonToken token = parser.nextToken();
+            if (token != null) {
+                walk(parser, token, 0);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to parse JSON response", e);
+        }
+
+        JsonExtraction extraction = new JsonExtraction();
+        for (Query query : queries) {
+            extraction.add(query.path.getExpression(), query.kind == Query.Kind.SELECT,
+                    query.count, query.values, query.violations);
+        }
+        return extraction;
+    }
+
+    private boolean walk(JsonParser parser, JsonToken token, int depth) throws IOException {
+        boolean descend = false;
+        boolean capture = false;
+        for (Query query : queries) {
+            int state = matchState(query.path, depth);
+            if (state == FULL_MATCH) {
+                query.count++;
+                if (query.wantsValue()) {
+                    if (token.isScalarValue()) {
+                        query.accept(scalarValue(parser, token));
+                    } else {
+                        capture = true;
+                    }
+                }
+            } else if (state == PREFIX_MATCH && !query.isDone()) {
+                descend = true;
+            }
+        }
+
+        if (capture) {
+            // A container was selected: read it once and resolve deeper expressions against the tree
+            JsonNode node = mapper.readTree(parser);
+            walkTree(node, depth, true);
+            return allDone();
+        }
+        if (!token.isStructStart()) {
+            return allDone();
+        }
+        if (!descend) {
+            parser.skipChildren();
+            return allDone();
+        }
+
+        ensureCapacity(depth + 1);
+        if (token == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                names[depth] = parser.getCurrentName();
+                if (walk(parser, parser.nextToken(), depth + 1)) {
+                    return true;
+                }
+            }
+        } else {
+            int index = 0;
+            JsonToken next;
+            while ((next = parser.nextToken()) != JsonToken.END_ARRAY && next != null) {
+                names[depth] = null;
+                indices[depth] = index++;
+                if (walk(parser, next, depth + 1)) {
+                    return true;
+                }
+            }
+        }
+        return allDone();
+    }
+
+    // Tree equivalent of walk() for expressions that continue below a captured container.
+    // Matches at the captured node itself were already counted by walk().
+    private void walkTree(JsonNode node, int depth, boolean counted) {
+        boolean descend = false;
+        for (Query query : queries) {
+            int state = matchState(query.path, depth);
+            if (state == FULL_MATCH) {
+                if (!counted) {
+                    query.count++;
+                }
+                if (query.wantsValue()) {
+                    query.accept(node.isValueNode() ? mapper.convertValue(node, Object.class) : node);
+                }
+            } else if (state == PREFIX_MATCH) {
+                descend = true;
+            }
+        }
+        if (!descend || !node.isContainerNode()) {
+            return;
+        }
+
+        ensureCapacity(depth + 1);
+        if (node.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                names[depth] = field.getKey();
+                walkTree(field.getValue(), depth + 1, false);
+            }
+        } else {
+            for (int i = 0; i < node.size(); i++) {
+                names[depth] = null;
+                indices[depth] = i;
+                walkTree(node.get(i), depth + 1, false);
+            }
+        }
+    }
+
+    private int matchState(JsonPathExpression path, int depth) {
+        if (depth > path.length()) {
+            return NO_MATCH;
+        }
+        for (int i = 0; i < depth; i++) {
+            if (!path.matches(i, names[i], indices[i])) {
+                return NO_MATCH;
+            }
+        }
+        return depth == path.length() ? FULL_MATCH : PREFIX_MATCH;
+    }
+
+    private boolean allDone() {
+        for (Query query : queries) {
+            if (!query.isDone()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void ensureCapacity(int depth) {
+        if (depth >= names.length) {
+            names = Arrays.copyOf(names, names.length * 2);
+            indices = Arrays.copyOf(indices, indices.length * 2);
+        }
+    }
+
+    private static Object scalarValue(JsonParser parser, JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+                return parser.getNumberValue();
+            case VALUE_NUMBER_FLOAT:
+                return parser.getDoubleValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            default:
+                return null;
+        }
+    }
+
+    private static class Query {
+        enum Kind { COUNT, SELECT, EXPECT }
+
+        private final JsonPathExpression path;
+        private final Kind kind;
+        private final int limit;
+        private final Predicate<Object> condition;
+        private final String description;
+        private final List<Object> values = new ArrayList<>();
+        private final List<String> violations = new ArrayList<>();
+        private int count;
+
+        private Query(JsonPathExpression path, Kind kind, int limit, Predicate<Object> condition, String description) {
+            this.path = path;
+            this.kind = kind;
+            this.limit = limit;
+            this.condition = condition;
+            this.description = description;
+        }
+
+        private boolean wantsValue() {
+            return kind != Kind.COUNT && values.size() < limit;
+        }
+
+        private boolean isDone() {
+            return kind == Kind.SELECT && values.size() >= limit;
+        }
+
+        private void accept(Object value) {
+            if (kind == Kind.SELECT) {
+                values.add(value);
+            } else if (kind == Kind.EXPECT && !condition.test(value)) {
+                violations.add(path.getExpression() + " expected " + description + " but was: " + value);
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.automation.api;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+/**
+ * REST Assured filter that appends every request/response pair to a {@link Cassette}.
+ */
+public class TrafficRecorder implements Filter {
+    private final Cassette cassette;
+
+    public TrafficRecorder(Cassette cassette) {
+        this.cassette = cassette;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec, FilterContext context) {
+        Response response = context.next(requestSpec, responseSpec);
+
+        URI uri = URI.create(requestSpec.getURI());
+        Cassette.Interaction interaction = new Cassette.Interaction();
+        interaction.method = requestSpec.getMethod();
+        interaction.path = uri.getRawPath();
+        interaction.query = uri.getRawQuery();
+        interaction.requestBody = bodyAsString(requestSpec.getBody());
+        interaction.status = response.getStatusCode();
+        for (Header header : response.getHeaders()) {
+            interaction.headers.computeIfAbsent(header.getName(), name -> new ArrayList<>()).add(header.getValue());
+        }
+        interaction.setResponseBody(response.asByteArray(), response.getContentType());
+        cassette.append(interaction);
+        return response;
+    }
+
+    private static String bodyAsString(Object body) {
+        if (body == null) {
+            return null;
+        }
+        if (body instanceof byte[]) {
+            return new String((byte[]) body, StandardCharsets.UTF_8);
+        }
+        return body.toString();
+    }
+}
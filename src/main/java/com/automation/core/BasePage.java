@@ -1,72 +1,248 @@
 package com.automation.core;
 
+import com.automation.utils.ConfigManager;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.pagefactory.AppiumFieldDecorator;
+import org.openqa.selenium.ElementNotInteractableException;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.lang.reflect.Field;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 
 public class BasePage {
     protected static final Logger logger = LogManager.getLogger(BasePage.class);
     protected WebDriver webDriver;
     protected AppiumDriver mobileDriver;
     protected WebDriverWait wait;
+    protected WaitEngine waits;
+    // Elements whose field carries its own @WaitProfile
+    private final Map<Object, Duration> elementTimeouts = new IdentityHashMap<>();
 
     // Constructor for Web
     public BasePage(WebDriver driver) {
         this.webDriver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-        PageFactory.initElements(driver, this);
+        initWaits(driver);
+        if (!PageBindings.bind(this, driver, PageElements.Platform.WEB, elementTimeouts)) {
+            if (ElementCache.isEnabled()) {
+                PageFactory.initElements(ElementCache.decorator(driver), this);
+            } else {
+                PageFactory.initElements(driver, this);
+            }
+            collectElementTimeouts();
+        }
         logger.debug("Initialized web page: {}", this.getClass().getSimpleName());
     }
 
     // Constructor for Mobile
     public BasePage(AppiumDriver driver) {
         this.mobileDriver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-        PageFactory.initElements(new AppiumFieldDecorator(driver, Duration.ofSeconds(10)), this);
+        initWaits(driver);
+        if (!PageBindings.bind(this, driver, PageBindings.platformOf(driver), elementTimeouts)) {
+            if (ElementCache.isEnabled()) {
+                PageFactory.initElements(ElementCache.decorator(driver), this);
+            } else {
+                PageFactory.initElements(new AppiumFieldDecorator(driver, WaitEngine.driverImplicitWait()), this);
+            }
+            collectElementTimeouts();
+        }
         logger.debug("Initialized mobile page: {}", this.getClass().getSimpleName());
     }
 
+    private void initWaits(WebDriver driver) {
+        WaitProfile profile = getClass().getAnnotation(WaitProfile.class);
+        Duration timeout = profile != null
+                ? WaitEngine.profileTimeout(profile.value())
+                : ConfigManager.getExplicitWaitTimeout();
+        this.waits = new WaitEngine(driver, timeout);
+        this.wait = new WebDriverWait(driver, timeout);
+    }
+
+    private void collectElementTimeouts() {
+        for (Class<?> type = getClass(); type != BasePage.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                WaitProfile profile = field.getAnnotation(WaitProfile.class);
+                if (profile == null) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                    Object element = field.get(this);
+                    if (element != null) {
+                        elementTimeouts.put(element, WaitEngine.profileTimeout(profile.value()));
+                    }
+                } catch (IllegalAccessException e) {
+                    logger.warn("Cannot read wait profile field: {}", field.getName(), e);
+                }
+            }
+        }
+    }
+
+    // Timeout for an element: its field's profile, otherwise the page's
+    protected Duration timeoutFor(WebElement element) {
+        return elementTimeouts.getOrDefault(element, waits.getTimeout());
+    }
+
     // Wait Methods
     protected void waitForElementToBeVisible(WebElement element) {
-        wait.until(ExpectedConditions.visibilityOf(element));
+        waits.untilVisible(element, timeoutFor(element));
     }
 
     protected void waitForElementToBeClickable(WebElement element) {
-        wait.until(ExpectedConditions.elementToBeClickable(element));
+        waits.untilClickable(element, timeoutFor(element));
+    }
+
+    // Returns false if the element is still displayed when its timeout expires
+    protected boolean waitForElementToDisappear(WebElement element) {
+        return waits.waitForAbsence(element, timeoutFor(element));
     }
 
     // Click Methods
     protected void click(WebElement element) {
         waitForElementToBeClickable(element);
+        long start = System.nanoTime();
         element.click();
+        WaitStats.recordAction(System.nanoTime() - start);
         logger.debug("Clicked on element: {}", element);
     }
 
     // Type Methods
     protected void type(WebElement element, String text) {
         waitForElementToBeVisible(element);
+        long start = System.nanoTime();
         element.clear();
         element.sendKeys(text);
+        WaitStats.recordAction(System.nanoTime() - start);
         logger.debug("Typed '{}' into element: {}", text, element);
     }
 
     // Get Text
     protected String getText(WebElement element) {
         waitForElementToBeVisible(element);
+        long start = System.nanoTime();
         String text = element.getText();
+        WaitStats.recordAction(System.nanoTime() - start);
         logger.debug("Retrieved text '{}' from element: {}", text, element);
         return text;
     }
 
+    // Batched Methods
+    // Fills all fields in one script call; with form.fill.real.keystrokes=true each field is typed instead.
+    // The script skips key handlers, masking and autocomplete, so pages opt in only for forms where that is fine
+    protected void fillFields(FieldValues values) {
+        fillFields(values, ConfigManager.isFormFillRealKeystrokes());
+    }
+
+    // Real keystrokes fire keydown/keypress/keyup for fields whose handlers depend on them
+    protected void fillFields(FieldValues values, boolean realKeystrokes) {
+        List<WebElement> fields = values.fields();
+        if (!realKeystrokes && supportsBatching()) {
+            try {
+                fillInPage(fields, values.values());
+                logger.debug("Filled {} fields in page", fields.size());
+                return;
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                logger.debug("Field not in the DOM yet, typing each field instead: {}", e.getMessage());
+            }
+        }
+        for (int i = 0; i < fields.size(); i++) {
+            type(fields.get(i), values.values().get(i));
+        }
+    }
+
+    private void fillInPage(List<WebElement> fields, List<String> values) {
+        int previous = -1;
+        while (true) {
+            long start = System.nanoTime();
+            int notReady = DomBatch.fill(webDriver, fields, values);
+            WaitStats.recordAction(System.nanoTime() - start);
+            if (notReady < 0) {
+                return;
+            }
+            if (notReady == previous) {
+                throw new ElementNotInteractableException("Field is not editable: " + fields.get(notReady));
+            }
+            waitForElementToBeClickable(fields.get(notReady));
+            previous = notReady;
+        }
+    }
+
+    // Visible texts in one script call; elements not yet displayed are waited for one by one
+    protected List<String> getTexts(List<WebElement> elements) {
+        List<String> texts = null;
+        if (supportsBatching()) {
+            long start = System.nanoTime();
+            try {
+                texts = DomBatch.texts(webDriver, elements);
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                logger.debug("Element not in the DOM yet, reading each element instead: {}", e.getMessage());
+            } finally {
+                WaitStats.recordAction(System.nanoTime() - start);
+            }
+        }
+        if (texts == null) {
+            texts = new ArrayList<>(elements.size());
+            for (WebElement element : elements) {
+                texts.add(null);
+            }
+        }
+        for (int i = 0; i < texts.size(); i++) {
+            if (texts.get(i) == null) {
+                texts.set(i, getText(elements.get(i)));
+            }
+        }
+        return texts;
+    }
+
+    // Current visibility of each element in one script call, without waiting
+    protected List<Boolean> areDisplayed(List<WebElement> elements) {
+        if (supportsBatching()) {
+            long start = System.nanoTime();
+            try {
+                return DomBatch.displayed(webDriver, elements);
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                logger.debug("Element not in the DOM, checking each element instead: {}", e.getMessage());
+            } finally {
+                WaitStats.recordAction(System.nanoTime() - start);
+            }
+        }
+        List<Boolean> shown = new ArrayList<>(elements.size());
+        for (WebElement element : elements) {
+            shown.add(isElementDisplayed(element));
+        }
+        return shown;
+    }
+
+    private boolean supportsBatching() {
+        return webDriver != null && DomWaits.isSupported(webDriver);
+    }
+
+    // Navigation Methods
+    // Navigating drops cached elements of every page on this driver
+    protected void navigateTo(String url) {
+        webDriver.get(url);
+        ElementCache.invalidate(webDriver);
+        logger.debug("Navigated to: {}", url);
+    }
+
+    protected void refreshPage() {
+        WebDriver driver = webDriver != null ? webDriver : mobileDriver;
+        driver.navigate().refresh();
+        ElementCache.invalidate(driver);
+        logger.debug("Refreshed page: {}", this.getClass().getSimpleName());
+    }
+
     // JavaScript Executor Methods
     protected void scrollToElement(WebElement element) {
         if (webDriver != null) {
@@ -85,9 +261,10 @@ public class BasePage {
     }
 
     // Utility Methods
+    // Answers immediately; use waitForElementToBeVisible to wait for an element to appear
     protected boolean isElementDisplayed(WebElement element) {
         try {
-            return element.isDisplayed();
+            return waits.isDisplayedNow(element);
         } catch (Exception e) {
             return false;
         }
@@ -0,0 +1,70 @@
+package com.automation.core;
+
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers the element found by the wrapped locator until it is invalidated or the driver's
+ * navigation epoch moves on. Lists are not cached, their contents change too often.
+ */
+class CachingElementLocator implements ElementLocator {
+    private final ElementLocator delegate;
+    private final AtomicLong epoch;
+    private volatile WebElement cached;
+    private volatile long cachedEpoch;
+
+    CachingElementLocator(ElementLocator delegate, AtomicLong epoch) {
+        this.delegate = delegate;
+        this.epoch = epoch;
+    }
+
+    @Override
+    public WebElement findElement() {
+        WebElement element = cached;
+        if (element != null && cachedEpoch == epoch.get()) {
+            ElementCache.recordHit();
+            return element;
+        }
+        ElementCache.recordMiss();
+        long current = epoch.get();
+        element = delegate.findElement();
+        cachedEpoch = current;
+        cached = element;
+        return element;
+    }
+
+    @Override
+    public List<WebElement> findElements() {
+        return delegate.findElements();
+    }
+
+    void invalidate() {
+        cached = null;
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+
+    static class Factory implements ElementLocatorFactory {
+        private final ElementLocatorFactory delegate;
+        private final AtomicLong epoch;
+
+        Factory(ElementLocatorFactory delegate, AtomicLong epoch) {
+            this.delegate = delegate;
+            this.epoch = epoch;
+        }
+
+        @Override
+        public CachingElementLocator createLocator(Field field) {
+            ElementLocator locator = delegate.createLocator(field);
+            return locator != null ? new CachingElementLocator(locator, epoch) : null;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.automation.core;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.pagefactory.FieldDecorator;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Decorates WebElement fields with proxies backed by a {@link CachingElementLocator}; every
+ * other field is handed to the fallback decorator.
+ */
+class CachingFieldDecorator implements FieldDecorator {
+    private final CachingElementLocator.Factory factory;
+    private final FieldDecorator fallback;
+
+    CachingFieldDecorator(CachingElementLocator.Factory factory, FieldDecorator fallback) {
+        this.factory = factory;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Object decorate(ClassLoader loader, Field field) {
+        if (field.getType() != WebElement.class) {
+            return fallback.decorate(loader, field);
+        }
+        CachingElementLocator locator = factory.createLocator(field);
+        if (locator == null) {
+            return fallback.decorate(loader, field);
+        }
+        return Proxy.newProxyInstance(loader,
+                new Class<?>[] {WebElement.class, WrapsElement.class, Locatable.class},
+                new CachingElementHandler(locator));
+    }
+
+    // Same contract as PageFactory's LocatingElementHandler, plus one retry on a stale element
+    private static class CachingElementHandler implements InvocationHandler {
+        private final CachingElementLocator locator;
+
+        private CachingElementHandler(CachingElementLocator locator) {
+            this.locator = locator;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            WebElement element;
+            try {
+                element = locator.findElement();
+            } catch (NoSuchElementException e) {
+                if ("toString".equals(method.getName())) {
+                    return "Proxy element for: " + locator;
+                }
+                throw e;
+            }
+            if ("getWrappedElement".equals(method.getName())) {
+                return element;
+            }
+            try {
+                return invokeOn(element, method, args);
+            } catch (StaleElementReferenceException e) {
+                ElementCache.recordStaleRetry();
+                locator.invalidate();
+                return invokeOn(locator.findElement(), method, args);
+            }
+        }
+
+        private static Object invokeOn(WebElement element, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(element, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.automation.core;
+
+import com.automation.reports.ExtentManager;
+import com.automation.utils.ConfigManager;
+import com.automation.utils.LatencyHistogram;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.proxy.Helpers;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of every WebDriver command, per command and per page object. Drivers created by
+ * DriverManager are instrumented when metrics.webdriver.enabled=true; the page is the nearest
+ * BasePage subclass on the calling stack. Recording is a map lookup and a few atomic
+ * increments, so it stays on for whole suites.
+ */
+public class CommandMetrics {
+    private static final Logger logger = LogManager.getLogger(CommandMetrics.class);
+    private static final String METRICS_DIR = "test-output/metrics";
+    private static final String NO_PAGE = "(test)";
+    private static final StackWalker stackWalker = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private static final Map<String, LatencyHistogram> commands = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> pages = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> pageCommands = new ConcurrentHashMap<>();
+
+    private CommandMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return ConfigManager.isWebDriverMetricsEnabled();
+    }
+
+    /**
+     * Wraps a web driver so every driver, element and navigation call is timed.
+     */
+    public static WebDriver instrument(WebDriver driver) {
+        return new EventFiringDecorator<>(new CommandTimingListener()).decorate(driver);
+    }
+
+    /**
+     * Creates an Appium driver as a proxy subclass that times every command it sends, element
+     * commands included, under the protocol command name (e.g. clickElement).
+     */
+    public static <T extends AppiumDriver> T instrument(Class<T> driverType, URL serverUrl, Capabilities capabilities) {
+        return Helpers.createProxy(driverType, new Object[] {serverUrl, capabilities},
+                new Class<?>[] {URL.class, Capabilities.class}, new CommandTimingListener.Appium());
+    }
+
+    static void record(String command, long nanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        String page = callingPage();
+        histogram(commands, command).record(micros);
+        histogram(pages, page).record(micros);
+        histogram(pageCommands, page + "#" + command).record(micros);
+    }
+
+    private static LatencyHistogram histogram(Map<String, LatencyHistogram> histograms, String key) {
+        LatencyHistogram histogram = histograms.get(key);
+        return histogram != null ? histogram : histograms.computeIfAbsent(key, ignored -> new LatencyHistogram());
+    }
+
+    private static String callingPage() {
+        return stackWalker.walk(frames -> frames
+                .map(StackWalker.StackFrame::getDeclaringClass)
+                .filter(type -> type != BasePage.class && BasePage.class.isAssignableFrom(type))
+                .findFirst()
+                .map(Class::getSimpleName)
+                .orElse(NO_PAGE));
+    }
+
+    /**
+     * Logs the slowest commands, adds them to the Extent report and writes all histograms to
+     * test-output/metrics/webdriver-commands-shard-N.json.
+     */
+    public static void publish() {
+        if (commands.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<String, LatencyHistogram>> slowest = new ArrayList<>(pageCommands.entrySet());
+        slowest.sort(Comparator.comparingLong((Map.Entry<String, LatencyHistogram> entry) -> entry.getValue().getValueAtPercentile(95))
+                .reversed());
+        slowest = slowest.subList(0, Math.min(ConfigManager.getWebDriverMetricsTop(), slowest.size()));
+
+        List<Map<String, Object>> top = new ArrayList<>();
+        for (Map.Entry<String, LatencyHistogram> entry : slowest) {
+            String[] pageAndCommand = entry.getKey().split("#", 2);
+            LatencyHistogram histogram = entry.getValue();
+            Map<String, Object> command = new LinkedHashMap<>();
+            command.put("page", pageAndCommand[0]);
+            command.put("command", pageAndCommand[1]);
+            command.putAll(summary(histogram));
+            top.add(command);
+
+            String line = String.format("%d calls, p50 %.1f ms, p95 %.1f ms, max %.1f ms", histogram.getCount(),
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(95)), millis(histogram.getMax()));
+            logger.info("Slow WebDriver command {}: {}", entry.getKey(), line);
+            ExtentManager.setSystemInfo("WebDriver " + entry.getKey(), line);
+        }
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("slowest", top);
+        metrics.put("commands", summaries(commands));
+        metrics.put("pages", summaries(pages));
+        try {
+            File file = new File(METRICS_DIR, "webdriver-commands-shard-" + ConfigManager.getShardIndex() + ".json");
+            file.getParentFile().mkdirs();
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file, metrics);
+            logger.info("WebDriver command metrics written to: {}", file.getPath());
+        } catch (IOException e) {
+            logger.error("Failed to write WebDriver command metrics", e);
+        }
+    }
+
+    private static Map<String, Object> summaries(Map<String, LatencyHistogram> histograms) {
+        Map<String, Object> summaries = new TreeMap<>();
+        histograms.forEach((key, histogram) -> summaries.put(key, summary(histogram)));
+        return summaries;
+    }
+
+    private static Map<String, Object> summary(LatencyHistogram histogram) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getCount());
+        summary.put("totalMs", millis(histogram.getTotal()));
+        summary.put("meanMs", histogram.getMean() / 1000.0);
+        summary.put("p50Ms", millis(histogram.getValueAtPercentile(50)));
+        summary.put("p95Ms", millis(histogram.getValueAtPercentile(95)));
+        summary.put("p99Ms", millis(histogram.getValueAtPercentile(99)));
+        summary.put("maxMs", millis(histogram.getMax()));
+        return summary;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
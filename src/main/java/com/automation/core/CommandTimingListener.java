@@ -0,0 +1,101 @@
+package com.automation.core;
+
+import io.appium.java_client.proxy.MethodCallListener;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Times calls on a driver decorated by EventFiringDecorator. Start times are kept on a small
+ * per-thread stack, so nested calls are timed separately.
+ */
+class CommandTimingListener implements WebDriverListener {
+    private static final Set<String> IGNORED = new HashSet<>(Arrays.asList(
+            "toString", "hashCode", "equals", "getWrappedDriver", "getWrappedElement"));
+    private static final ThreadLocal<StartTimes> startTimes = ThreadLocal.withInitial(StartTimes::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        startTimes.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finished(target, method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finished(target, method);
+    }
+
+    private static void finished(Object target, Method method) {
+        long nanos = System.nanoTime() - startTimes.get().pop();
+        if (!IGNORED.contains(method.getName())) {
+            CommandMetrics.record(commandName(target, method), nanos);
+        }
+    }
+
+    // findElement, click, executeScript...; navigation and options calls are prefixed, e.g. navigation.to
+    private static String commandName(Object target, Method method) {
+        if (target instanceof WebDriver || target instanceof WebElement) {
+            return method.getName();
+        }
+        String owner = method.getDeclaringClass().getSimpleName();
+        return Character.toLowerCase(owner.charAt(0)) + owner.substring(1) + "." + method.getName();
+    }
+
+    private static class StartTimes {
+        private long[] times = new long[8];
+        private int depth;
+
+        private void push(long time) {
+            if (depth == times.length) {
+                times = Arrays.copyOf(times, depth * 2);
+            }
+            times[depth++] = time;
+        }
+
+        private long pop() {
+            return depth == 0 ? System.nanoTime() : times[--depth];
+        }
+    }
+
+    /**
+     * Times Appium commands at RemoteWebDriver.execute, which element calls also go through.
+     */
+    static class Appium implements MethodCallListener {
+        @Override
+        public void beforeCall(Object target, Method method, Object[] args) {
+            if (isCommand(method, args)) {
+                startTimes.get().push(System.nanoTime());
+            }
+        }
+
+        @Override
+        public void afterCall(Object target, Method method, Object[] args, Object result) {
+            if (isCommand(method, args)) {
+                CommandMetrics.record((String) args[0], System.nanoTime() - startTimes.get().pop());
+            }
+        }
+
+        @Override
+        public Object onError(Object target, Method method, Object[] args, Throwable e) throws Throwable {
+            if (isCommand(method, args)) {
+                CommandMetrics.record((String) args[0], System.nanoTime() - startTimes.get().pop());
+            }
+            throw e;
+        }
+
+        private static boolean isCommand(Method method, Object[] args) {
+            // execute(String) forwards to execute(String, Map), so only the latter is timed
+            return "execute".equals(method.getName()) && args.length == 2 && args[0] instanceof String;
+        }
+    }
+}
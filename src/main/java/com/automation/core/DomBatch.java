@@ -0,0 +1,83 @@
+package com.automation.core;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and writes many elements in a single executeScript call. Values are assigned through
+ * the native value setter, so frameworks that track input state (React, Angular) see the
+ * change, and input/change events are dispatched as a user edit would.
+ */
+class DomBatch {
+    private static final String FILL_SCRIPT =
+            "var els = arguments[0], values = arguments[1];"
+            + DomWaits.VISIBLE_FUNCTION
+            + "for (var i = 0; i < els.length; i++) {"
+            + "  if (!visible(els[i]) || els[i].disabled || els[i].readOnly) return i;"
+            + "}"
+            + "for (i = 0; i < els.length; i++) {"
+            + "  var el = els[i], value = values[i];"
+            + "  el.focus();"
+            + "  if (el.isContentEditable) {"
+            + "    el.textContent = value;"
+            + "  } else {"
+            + "    var descriptor = Object.getOwnPropertyDescriptor(Object.getPrototypeOf(el), 'value');"
+            + "    if (descriptor && descriptor.set) descriptor.set.call(el, value); else el.value = value;"
+            + "  }"
+            + "  el.dispatchEvent(new Event('input', {bubbles: true}));"
+            + "  el.dispatchEvent(new Event('change', {bubbles: true}));"
+            + "  el.blur();"
+            + "}"
+            + "return -1;";
+
+    private static final String TEXTS_SCRIPT =
+            "var els = arguments[0], texts = [];"
+            + DomWaits.VISIBLE_FUNCTION
+            + "for (var i = 0; i < els.length; i++) {"
+            + "  texts.push(visible(els[i]) ? (els[i].innerText || els[i].textContent || '').trim() : null);"
+            + "}"
+            + "return texts;";
+
+    private static final String DISPLAYED_SCRIPT =
+            "var els = arguments[0], shown = [];"
+            + DomWaits.VISIBLE_FUNCTION
+            + "for (var i = 0; i < els.length; i++) shown.push(visible(els[i]));"
+            + "return shown;";
+
+    private DomBatch() {
+    }
+
+    /**
+     * Fills every field, or none of them: returns the index of the first field that is hidden,
+     * disabled or read-only, or -1 once all values are set.
+     */
+    static int fill(WebDriver driver, List<WebElement> fields, List<String> values) {
+        Object result = ((JavascriptExecutor) driver).executeScript(FILL_SCRIPT, fields, values);
+        return ((Number) result).intValue();
+    }
+
+    /**
+     * Visible text of each element, or null for elements that are not displayed.
+     */
+    static List<String> texts(WebDriver driver, List<WebElement> elements) {
+        List<?> result = (List<?>) ((JavascriptExecutor) driver).executeScript(TEXTS_SCRIPT, elements);
+        List<String> texts = new ArrayList<>(result.size());
+        for (Object text : result) {
+            texts.add(text == null ? null : text.toString());
+        }
+        return texts;
+    }
+
+    static List<Boolean> displayed(WebDriver driver, List<WebElement> elements) {
+        List<?> result = (List<?>) ((JavascriptExecutor) driver).executeScript(DISPLAYED_SCRIPT, elements);
+        List<Boolean> shown = new ArrayList<>(result.size());
+        for (Object visible : result) {
+            shown.add(Boolean.TRUE.equals(visible));
+        }
+        return shown;
+    }
+}
@@ -0,0 +1,84 @@
+package com.automation.core;
+
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Element waits evaluated inside the page. A single async script checks the condition, then
+ * re-checks it on every DOM mutation (plus a short in-page timer for CSS-only changes) and
+ * returns once it holds or the timeout expires, so a wait costs one WebDriver round trip
+ * instead of one per poll.
+ */
+class DomWaits {
+    enum Condition { VISIBLE, CLICKABLE, ABSENT }
+
+    // Extra script timeout so the in-page timer always answers before WebDriver gives up
+    private static final Duration SCRIPT_TIMEOUT_MARGIN = Duration.ofSeconds(5);
+    private static final Map<WebDriver, Duration> scriptTimeouts = new WeakHashMap<>();
+
+    // In-page visibility check shared with DomBatch
+    static final String VISIBLE_FUNCTION =
+            "function visible(e) {"
+            + "  if (!e.isConnected) return false;"
+            + "  var style = window.getComputedStyle(e);"
+            + "  if (style.display === 'none' || style.visibility === 'hidden' || style.visibility === 'collapse'"
+            + "      || parseFloat(style.opacity) === 0) return false;"
+            + "  var rect = e.getBoundingClientRect();"
+            + "  return rect.width > 0 && rect.height > 0;"
+            + "}";
+
+    private static final String WAIT_SCRIPT =
+            "var el = arguments[0], condition = arguments[1], timeout = arguments[2];"
+            + "var done = arguments[arguments.length - 1];"
+            + VISIBLE_FUNCTION
+            + "function met() {"
+            + "  if (condition === 'ABSENT') return !visible(el);"
+            + "  return visible(el) && (condition !== 'CLICKABLE' || !el.disabled);"
+            + "}"
+            + "if (met()) { done(true); return; }"
+            + "var finished = false, observer, ticker, timer;"
+            + "function finish(result) {"
+            + "  if (finished) return;"
+            + "  finished = true; observer.disconnect(); clearInterval(ticker); clearTimeout(timer); done(result);"
+            + "}"
+            + "observer = new MutationObserver(function () { if (met()) finish(true); });"
+            + "observer.observe(document, {subtree: true, childList: true, attributes: true, characterData: true});"
+            + "ticker = setInterval(function () { if (met()) finish(true); }, 100);"
+            + "timer = setTimeout(function () { finish(met()); }, timeout);";
+
+    private DomWaits() {
+    }
+
+    // Native app contexts have no DOM, so mobile drivers always poll
+    static boolean isSupported(WebDriver driver) {
+        return driver instanceof JavascriptExecutor && !(driver instanceof AppiumDriver);
+    }
+
+    /**
+     * Blocks in the browser until the condition holds for the element. Returns false if it
+     * did not hold within the timeout. WebDriver errors (element not yet in the DOM, page
+     * navigation during the wait) propagate so the caller can fall back to polling.
+     */
+    static boolean await(WebDriver driver, WebElement element, Condition condition, Duration timeout) {
+        ensureScriptTimeout(driver, timeout);
+        Object result = ((JavascriptExecutor) driver).executeAsyncScript(WAIT_SCRIPT, element, condition.name(), timeout.toMillis());
+        return Boolean.TRUE.equals(result);
+    }
+
+    private static void ensureScriptTimeout(WebDriver driver, Duration timeout) {
+        Duration required = timeout.plus(SCRIPT_TIMEOUT_MARGIN);
+        synchronized (scriptTimeouts) {
+            Duration current = scriptTimeouts.get(driver);
+            if (current == null || current.compareTo(required) < 0) {
+                driver.manage().timeouts().scriptTimeout(required);
+                scriptTimeouts.put(driver, required);
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.automation.core;
+
+import com.automation.utils.ConfigManager;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import io.github.bonigarcia.wdm.config.Config;
+import io.github.bonigarcia.wdm.config.DriverManagerType;
+import io.github.bonigarcia.wdm.online.HttpClient;
+import io.github.bonigarcia.wdm.versions.VersionDetector;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves browser driver binaries at most once per JVM.
+ * Resolved paths are persisted in a local manifest so later runs on the same agent
+ * skip WebDriverManager resolution (and its network calls) entirely while the entry is fresh.
+ * An entry is also dropped when the installed browser's major version no longer matches the one
+ * it was resolved for, so a browser update does not leave an incompatible driver in place.
+ * Threads asking for the same driver concurrently wait on a single in-flight resolution.
+ */
+public class DriverBinaryResolver {
+    private static final Logger logger = LogManager.getLogger(DriverBinaryResolver.class);
+    private static final Map<DriverManagerType, CompletableFuture<String>> resolutions = new ConcurrentHashMap<>();
+    private static final Properties manifest = new Properties();
+    private static final Path manifestFile = Paths.get(ConfigManager.getDriverCacheManifest());
+
+    static {
+        loadManifest();
+    }
+
+    private DriverBinaryResolver() {
+    }
+
+    /**
+     * Makes the driver binary for the given browser available to Selenium and returns its path.
+     */
+    public static String resolve(String browser) {
+        DriverManagerType type = driverTypeFor(browser);
+        CompletableFuture<String> resolution = new CompletableFuture<>();
+        CompletableFuture<String> inFlight = resolutions.putIfAbsent(type, resolution);
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+
+        try {
+            resolution.complete(resolveOnce(type));
+        } catch (RuntimeException e) {
+            resolutions.remove(type, resolution);
+            resolution.completeExceptionally(e);
+        }
+        return await(resolution);
+    }
+
+    private static String resolveOnce(DriverManagerType type) {
+        String key = type.getNameLowerCase();
+        String browserMajor = installedBrowserMajor(type);
+        String cachedPath = cachedPathFor(key, browserMajor);
+        if (cachedPath != null) {
+            System.setProperty(systemPropertyFor(type), cachedPath);
+            logger.info("Using cached {} driver: {} (version {})",
+                    key, cachedPath, manifest.getProperty(key + ".version"));
+            return cachedPath;
+        }
+
+        logger.info("Resolving {} driver with WebDriverManager", key);
+        WebDriverManager manager = WebDriverManager.getInstance(type);
+        manager.setup();
+        String path = manager.getDownloadedDriverPath();
+        if (path != null) {
+            storeManifestEntry(key, path, manager.getDownloadedDriverVersion(), browserMajor);
+        }
+        return path;
+    }
+
+    private static String cachedPathFor(String key, String browserMajor) {
+        synchronized (manifest) {
+            String path = manifest.getProperty(key + ".path");
+            String resolvedAt = manifest.getProperty(key + ".resolved");
+            if (path == null || resolvedAt == null || !Files.isExecutable(Paths.get(path))) {
+                return null;
+            }
+            long ageMillis;
+            try {
+                ageMillis = System.currentTimeMillis() - Long.parseLong(resolvedAt);
+            } catch (NumberFormatException e) {
+                logger.debug("Cached {} driver entry has an invalid timestamp: {}", key, resolvedAt);
+                return null;
+            }
+            if (ageMillis > TimeUnit.HOURS.toMillis(ConfigManager.getDriverCacheTtlHours())) {
+                logger.debug("Cached {} driver entry expired", key);
+                return null;
+            }
+            // When the installed version cannot be detected, the TTL alone decides
+            String cachedMajor = manifest.getProperty(key + ".browserVersion");
+            if (browserMajor != null && !browserMajor.equals(cachedMajor)) {
+                logger.info("Installed {} is now version {} (cached driver was resolved for {}), resolving again",
+                        key, browserMajor, cachedMajor);
+                return null;
+            }
+            return path;
+        }
+    }
+
+    // Asks the installed browser for its version on the command line; no network calls
+    private static String installedBrowserMajor(DriverManagerType type) {
+        Config config = WebDriverManager.getInstance(type).config();
+        try (HttpClient httpClient = new HttpClient(config)) {
+            return new VersionDetector(config, httpClient)
+                    .getBrowserVersionFromTheShell(type.getBrowserNameLowerCase())
+                    .map(VersionDetector::getMajorVersion)
+                    .orElse(null);
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Could not detect the installed {} version", type.getBrowserName(), e);
+            return null;
+        }
+    }
+
+    private static void loadManifest() {
+        if (!Files.exists(manifestFile)) {
+            return;
+        }
+        try (InputStream in = Files.newInputStream(manifestFile)) {
+            manifest.load(in);
+            logger.debug("Loaded driver cache manifest from {}", manifestFile);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Ignoring unreadable driver cache manifest: {}", manifestFile, e);
+        }
+    }
+
+    private static void storeManifestEntry(String key, String path, String version, String browserMajor) {
+        synchronized (manifest) {
+            manifest.setProperty(key + ".path", path);
+            manifest.setProperty(key + ".version", version != null ? version : "unknown");
+            if (browserMajor != null) {
+                manifest.setProperty(key + ".browserVersion", browserMajor);
+            } else {
+                manifest.remove(key + ".browserVersion");
+            }
+            manifest.setProperty(key + ".resolved", String.valueOf(System.currentTimeMillis()));
+            try {
+                Files.createDirectories(manifestFile.toAbsolutePath().getParent());
+                Path tempFile = Files.createTempFile(manifestFile.toAbsolutePath().getParent(), "driver-manifest", ".tmp");
+                try (OutputStream out = Files.newOutputStream(tempFile)) {
+                    manifest.store(out, "Resolved browser driver binaries");
+                }
+                Files.move(tempFile, manifestFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                logger.debug("Updated driver cache manifest: {}", manifestFile);
+            } catch (IOException e) {
+                logger.warn("Failed to write driver cache manifest: {}", manifestFile, e);
+            }
+        }
+    }
+
+    private static String await(CompletableFuture<String> resolution) {
+        try {
+            return resolution.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static DriverManagerType driverTypeFor(String browser) {
+        switch (browser.toLowerCase()) {
+            case "chrome":
+            case "headless-chrome":
+                return DriverManagerType.CHROME;
+            case "firefox":
+                return DriverManagerType.FIREFOX;
+            case "edge":
+                return DriverManagerType.EDGE;
+            default:
+                throw new IllegalArgumentException("Browser not supported: " + browser);
+        }
+    }
+
+    private static String systemPropertyFor(DriverManagerType type) {
+        switch (type) {
+            case FIREFOX:
+                return "webdriver.gecko.driver";
+            case EDGE:
+                return "webdriver.edge.driver";
+            default:
+                return "webdriver.chrome.driver";
+        }
+    }
+}
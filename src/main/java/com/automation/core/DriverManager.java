@@ -3,7 +3,6 @@ package com.automation.core;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.ios.IOSDriver;
-import io.github.bonigarcia.wdm.WebDriverManager;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
@@ -20,6 +19,7 @@ public class DriverManager {
     private static final Logger logger = LogManager.getLogger(DriverManager.class);
     private static ThreadLocal<WebDriver> webDriver = new ThreadLocal<>();
     private static ThreadLocal<AppiumDriver> mobileDriver = new ThreadLocal<>();
+    private static ThreadLocal<String> leasedBrowser = new ThreadLocal<>();
 
     // Web Driver Methods
     public static WebDriver getWebDriver() {
@@ -32,11 +32,22 @@ public class DriverManager {
 
     public static void initializeWebDriver(String browser) {
         logger.info("Initializing Web Driver for browser: {}", browser);
+        if (DriverPool.isEnabled()) {
+            setWebDriver(DriverPool.lease(browser));
+            leasedBrowser.set(browser);
+            logger.info("Web Driver leased from pool");
+            return;
+        }
+        setWebDriver(createWebDriver(browser));
+        logger.info("Web Driver initialized successfully");
+    }
+
+    static WebDriver createWebDriver(String browser) {
         WebDriver driver;
 
         switch (browser.toLowerCase()) {
             case "chrome":
-                WebDriverManager.chromedriver().setup();
+                DriverBinaryResolver.resolve(browser);
                 ChromeOptions chromeOptions = new ChromeOptions();
                 chromeOptions.addArguments("--start-maximized");
                 chromeOptions.addArguments("--disable-notifications");
@@ -44,19 +55,19 @@ public class DriverManager {
                 break;
 
             case "firefox":
-                WebDriverManager.firefoxdriver().setup();
+                DriverBinaryResolver.resolve(browser);
                 driver = new FirefoxDriver();
                 driver.manage().window().maximize();
                 break;
 
             case "edge":
-                WebDriverManager.edgedriver().setup();
+                DriverBinaryResolver.resolve(browser);
                 driver = new EdgeDriver();
                 driver.manage().window().maximize();
                 break;
 
             case "headless-chrome":
-                WebDriverManager.chromedriver().setup();
+                DriverBinaryResolver.resolve(browser);
                 ChromeOptions headlessOptions = new ChromeOptions();
                 headlessOptions.addArguments("--headless");
                 headlessOptions.addArguments("--window-size=1920,1080");
@@ -69,10 +80,9 @@ public class DriverManager {
                 throw new IllegalArgumentException("Browser not supported: " + browser);
         }
 
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
+        driver.manage().timeouts().implicitlyWait(WaitEngine.driverImplicitWait());
         driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
-        setWebDriver(driver);
-        logger.info("Web Driver initialized successfully");
+        return CommandMetrics.isEnabled() ? CommandMetrics.instrument(driver) : driver;
     }
 
     // Mobile Driver Methods
@@ -87,8 +97,10 @@ public class DriverManager {
     public static void initializeAndroidDriver(String appiumServerUrl, DesiredCapabilities capabilities) {
         try {
             logger.info("Initializing Android Driver");
-            AndroidDriver driver = new AndroidDriver(new URL(appiumServerUrl), capabilities);
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
+            AndroidDriver driver = CommandMetrics.isEnabled()
+                    ? CommandMetrics.instrument(AndroidDriver.class, new URL(appiumServerUrl), capabilities)
+                    : new AndroidDriver(new URL(appiumServerUrl), capabilities);
+            driver.manage().timeouts().implicitlyWait(WaitEngine.driverImplicitWait());
             setMobileDriver(driver);
             logger.info("Android Driver initialized successfully");
         } catch (Exception e) {
@@ -100,8 +112,10 @@ public class DriverManager {
     public static void initializeIOSDriver(String appiumServerUrl, DesiredCapabilities capabilities) {
         try {
             logger.info("Initializing iOS Driver");
-            IOSDriver driver = new IOSDriver(new URL(appiumServerUrl), capabilities);
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
+            IOSDriver driver = CommandMetrics.isEnabled()
+                    ? CommandMetrics.instrument(IOSDriver.class, new URL(appiumServerUrl), capabilities)
+                    : new IOSDriver(new URL(appiumServerUrl), capabilities);
+            driver.manage().timeouts().implicitlyWait(WaitEngine.driverImplicitWait());
             setMobileDriver(driver);
             logger.info("iOS Driver initialized successfully");
         } catch (Exception e) {
@@ -113,8 +127,15 @@ public class DriverManager {
     // Quit Methods
     public static void quitWebDriver() {
         if (webDriver.get() != null) {
-            logger.info("Quitting Web Driver");
-            webDriver.get().quit();
+            String browser = leasedBrowser.get();
+            if (browser != null) {
+                logger.info("Returning Web Driver to pool");
+                DriverPool.release(browser, webDriver.get());
+                leasedBrowser.remove();
+            } else {
+                logger.info("Quitting Web Driver");
+                webDriver.get().quit();
+            }
             webDriver.remove();
         }
     }
@@ -127,6 +148,38 @@ public class DriverManager {
         }
     }
 
+    /**
+     * Drops this thread's drivers without reusing them, so the next setup starts fresh sessions.
+     * Used after a driver crash, when quitting may fail as well.
+     */
+    public static void discardDrivers() {
+        WebDriver driver = webDriver.get();
+        if (driver != null) {
+            String browser = leasedBrowser.get();
+            logger.info("Discarding Web Driver");
+            if (browser != null) {
+                DriverPool.discard(browser, driver);
+                leasedBrowser.remove();
+            } else {
+                quitQuietly(driver);
+            }
+            webDriver.remove();
+        }
+        if (mobileDriver.get() != null) {
+            logger.info("Discarding Mobile Driver");
+            quitQuietly(mobileDriver.get());
+            mobileDriver.remove();
+        }
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            logger.debug("Ignoring error while quitting driver", e);
+        }
+    }
+
     public static void quitAllDrivers() {
         quitWebDriver();
         quitMobileDriver();
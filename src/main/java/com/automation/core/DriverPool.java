@@ -0,0 +1,177 @@
+package com.automation.core;
+
+import com.automation.utils.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool of reusable web driver sessions keyed by browser type.
+ * Sessions are leased for a single test and reset (cookies, storage, blank page)
+ * before being handed to the next test, so the browser cold start is paid once per slot.
+ */
+public class DriverPool {
+    private static final Logger logger = LogManager.getLogger(DriverPool.class);
+    private static final Map<String, BrowserPool> pools = new ConcurrentHashMap<>();
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "try { window.localStorage.clear(); } catch (e) {}"
+            + "try { window.sessionStorage.clear(); } catch (e) {}";
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverPool::shutdown, "driver-pool-shutdown"));
+    }
+
+    private DriverPool() {
+    }
+
+    public static boolean isEnabled() {
+        return ConfigManager.isDriverPoolEnabled();
+    }
+
+    /**
+     * Leases a session for the given browser, reusing an idle one when available.
+     * Blocks while the pool is at its maximum size.
+     */
+    public static WebDriver lease(String browser) {
+        BrowserPool pool = poolFor(browser);
+        try {
+            if (!pool.permits.tryAcquire(ConfigManager.getDriverPoolLeaseTimeout(), TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for a pooled " + pool.browser + " driver");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a pooled driver", e);
+        }
+
+        try {
+            WebDriver driver = pool.idle.pollFirst();
+            if (driver != null) {
+                logger.debug("Leased pooled {} driver", pool.browser);
+                return driver;
+            }
+            logger.info("No idle {} driver in pool, creating a new session", pool.browser);
+            return DriverManager.createWebDriver(pool.browser);
+        } catch (RuntimeException e) {
+            pool.permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a leased session to the pool. Sessions that cannot be reset are quit instead.
+     */
+    public static void release(String browser, WebDriver driver) {
+        BrowserPool pool = poolFor(browser);
+        try {
+            if (reset(driver)) {
+                pool.idle.offerFirst(driver);
+                logger.debug("Returned {} driver to pool", pool.browser);
+            } else {
+                quitQuietly(driver);
+            }
+        } finally {
+            pool.permits.release();
+        }
+    }
+
+    /**
+     * Quits a leased session without returning it to the pool, e.g. after a driver crash.
+     */
+    public static void discard(String browser, WebDriver driver) {
+        BrowserPool pool = poolFor(browser);
+        try {
+            quitQuietly(driver);
+        } finally {
+            pool.permits.release();
+        }
+    }
+
+    /**
+     * Starts the configured minimum number of sessions for the browser in the background.
+     */
+    public static void prewarm(String browser) {
+        BrowserPool pool = poolFor(browser);
+        int target = Math.min(ConfigManager.getDriverPoolMinSize(), ConfigManager.getDriverPoolMaxSize());
+        for (int i = pool.idle.size(); i < target; i++) {
+            Thread warmer = new Thread(() -> warmOne(pool), "driver-pool-warmup-" + pool.browser);
+            warmer.setDaemon(true);
+            warmer.start();
+        }
+    }
+
+    private static void warmOne(BrowserPool pool) {
+        if (!pool.permits.tryAcquire()) {
+            return;
+        }
+        try {
+            pool.idle.offerLast(DriverManager.createWebDriver(pool.browser));
+            logger.info("Pre-warmed {} driver", pool.browser);
+        } catch (Exception e) {
+            logger.warn("Failed to pre-warm {} driver", pool.browser, e);
+        } finally {
+            pool.permits.release();
+        }
+    }
+
+    public static void shutdown() {
+        for (BrowserPool pool : pools.values()) {
+            WebDriver driver;
+            while ((driver = pool.idle.pollFirst()) != null) {
+                quitQuietly(driver);
+            }
+        }
+        logger.info("Driver pool shut down");
+    }
+
+    private static BrowserPool poolFor(String browser) {
+        return pools.computeIfAbsent(browser.toLowerCase(), BrowserPool::new);
+    }
+
+    private static boolean reset(WebDriver driver) {
+        try {
+            Set<String> handles = driver.getWindowHandles();
+            if (handles.size() > 1) {
+                String first = handles.iterator().next();
+                for (String handle : handles) {
+                    if (!handle.equals(first)) {
+                        driver.switchTo().window(handle).close();
+                    }
+                }
+                driver.switchTo().window(first);
+            }
+            driver.manage().deleteAllCookies();
+            ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+            driver.get("about:blank");
+            return true;
+        } catch (Exception e) {
+            logger.warn("Failed to reset pooled driver, discarding it", e);
+            return false;
+        }
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            logger.debug("Ignoring error while quitting driver", e);
+        }
+    }
+
+    private static class BrowserPool {
+        private final String browser;
+        private final LinkedBlockingDeque<WebDriver> idle = new LinkedBlockingDeque<>();
+        private final Semaphore permits = new Semaphore(ConfigManager.getDriverPoolMaxSize(), true);
+
+        private BrowserPool(String browser) {
+            this.browser = browser;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.automation.core;
+
+import com.automation.utils.ConfigManager;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.pagefactory.AppiumElementLocatorFactory;
+import io.appium.java_client.pagefactory.AppiumFieldDecorator;
+import io.appium.java_client.pagefactory.DefaultElementByBuilder;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.pagefactory.DefaultElementLocatorFactory;
+import org.openqa.selenium.support.pagefactory.DefaultFieldDecorator;
+import org.openqa.selenium.support.pagefactory.FieldDecorator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches the element behind each PageFactory field of a page instance, so repeated access does
+ * not re-run findElement. A cached element that has gone stale is looked up again and the call
+ * retried once. {@link #invalidate(WebDriver)} starts a new navigation epoch for a driver,
+ * dropping every element cached before it. Enabled with element.cache.enabled.
+ */
+public class ElementCache {
+    private static final Logger logger = LogManager.getLogger(ElementCache.class);
+    private static final Map<SearchContext, AtomicLong> epochs = new WeakHashMap<>();
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LongAdder staleRetries = new LongAdder();
+
+    private ElementCache() {
+    }
+
+    public static boolean isEnabled() {
+        return ConfigManager.isElementCacheEnabled();
+    }
+
+    /**
+     * Field decorator for a web page: single-element fields are cached, lists use the
+     * standard PageFactory proxies.
+     */
+    public static FieldDecorator decorator(WebDriver driver) {
+        DefaultElementLocatorFactory locators = new DefaultElementLocatorFactory(driver);
+        return new CachingFieldDecorator(new CachingElementLocator.Factory(locators, epoch(driver)),
+                new DefaultFieldDecorator(locators));
+    }
+
+    /**
+     * Field decorator for a mobile page: WebElement fields are located with Appium's locator
+     * factory (so @AndroidFindBy/@iOSXCUITFindBy apply) and cached; lists and widgets are left
+     * to AppiumFieldDecorator.
+     */
+    public static FieldDecorator decorator(AppiumDriver driver) {
+        Capabilities capabilities = driver.getCapabilities();
+        AppiumElementLocatorFactory locators = new AppiumElementLocatorFactory(driver, WaitEngine.driverImplicitWait(),
+                new DefaultElementByBuilder(capability(capabilities, "platformName"), capability(capabilities, "automationName")));
+        return new CachingFieldDecorator(new CachingElementLocator.Factory(locators, epoch(driver)),
+                new AppiumFieldDecorator(driver, WaitEngine.driverImplicitWait()));
+    }
+
+    /**
+     * Drops every element cached for the driver; call after navigating to a new page.
+     */
+    public static void invalidate(WebDriver driver) {
+        if (driver != null) {
+            epoch(driver).incrementAndGet();
+        }
+    }
+
+    static AtomicLong epoch(SearchContext driver) {
+        synchronized (epochs) {
+            return epochs.computeIfAbsent(driver, ignored -> new AtomicLong());
+        }
+    }
+
+    static void recordHit() {
+        hits.increment();
+    }
+
+    static void recordMiss() {
+        misses.increment();
+    }
+
+    static void recordStaleRetry() {
+        staleRetries.increment();
+    }
+
+    public static long getHits() {
+        return hits.sum();
+    }
+
+    public static long getMisses() {
+        return misses.sum();
+    }
+
+    public static long getStaleRetries() {
+        return staleRetries.sum();
+    }
+
+    public static void logStatistics() {
+        logger.info("Element cache: {} hits, {} misses, {} stale retries", hits.sum(), misses.sum(), staleRetries.sum());
+    }
+
+    public static String getStatistics() {
+        return hits.sum() + " hits, " + misses.sum() + " misses, " + staleRetries.sum() + " stale retries";
+    }
+
+    // Capabilities may carry the appium: vendor prefix
+    private static String capability(Capabilities capabilities, String name) {
+        Object value = capabilities.getCapability(name);
+        if (value == null) {
+            value = capabilities.getCapability("appium:" + name);
+        }
+        return value != null ? value.toString() : null;
+    }
+}
@@ -0,0 +1,34 @@
+package com.automation.core;
+
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Ordered field/value pairs for {@link BasePage#fillFields(FieldValues)}. Fields are kept in a
+ * list rather than as map keys because hashing a PageFactory proxy looks the element up.
+ */
+public class FieldValues {
+    private final List<WebElement> fields = new ArrayList<>();
+    private final List<String> values = new ArrayList<>();
+
+    public FieldValues set(WebElement field, String value) {
+        fields.add(field);
+        values.add(value == null ? "" : value);
+        return this;
+    }
+
+    public int size() {
+        return fields.size();
+    }
+
+    List<WebElement> fields() {
+        return Collections.unmodifiableList(fields);
+    }
+
+    List<String> values() {
+        return Collections.unmodifiableList(values);
+    }
+}
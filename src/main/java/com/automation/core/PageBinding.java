@@ -0,0 +1,9 @@
+package com.automation.core;
+
+/**
+ * Assigns the element fields of one page class. Implementations are generated at build time
+ * by {@code com.automation.processor.PageBindingProcessor} as {@code <Page>_Binding}.
+ */
+public interface PageBinding<P extends BasePage> {
+    void bind(P page, PageElements elements);
+}
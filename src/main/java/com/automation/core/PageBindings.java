@@ -0,0 +1,72 @@
+package com.automation.core;
+
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.Platform;
+import org.openqa.selenium.SearchContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the generated bindings of a page class and its superclasses. The lookup runs once per
+ * class; a page is only bound this way if every class up to BasePage has a binding.
+ */
+class PageBindings {
+    private static final Logger logger = LogManager.getLogger(PageBindings.class);
+
+    private static final ClassValue<List<PageBinding<BasePage>>> bindings = new ClassValue<List<PageBinding<BasePage>>>() {
+        @Override
+        protected List<PageBinding<BasePage>> computeValue(Class<?> pageClass) {
+            return lookup(pageClass);
+        }
+    };
+
+    private PageBindings() {
+    }
+
+    /**
+     * Assigns the page's element fields; returns false if the page has to use PageFactory.
+     */
+    static boolean bind(BasePage page, SearchContext context, PageElements.Platform platform, Map<Object, Duration> timeouts) {
+        List<PageBinding<BasePage>> chain = bindings.get(page.getClass());
+        if (chain == null) {
+            return false;
+        }
+        PageElements elements = new PageElements(context, platform, timeouts);
+        for (PageBinding<BasePage> binding : chain) {
+            binding.bind(page, elements);
+        }
+        return true;
+    }
+
+    static PageElements.Platform platformOf(AppiumDriver driver) {
+        Platform platform = driver.getCapabilities().getPlatformName();
+        if (platform != null && platform.is(Platform.IOS)) {
+            return PageElements.Platform.IOS;
+        }
+        return PageElements.Platform.ANDROID;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<PageBinding<BasePage>> lookup(Class<?> pageClass) {
+        List<PageBinding<BasePage>> chain = new ArrayList<>();
+        for (Class<?> type = pageClass; type != BasePage.class; type = type.getSuperclass()) {
+            try {
+                Class<?> binding = Class.forName(type.getName() + "_Binding", true, type.getClassLoader());
+                chain.add((PageBinding<BasePage>) binding.getDeclaredConstructor().newInstance());
+            } catch (ClassNotFoundException e) {
+                logger.debug("No generated binding for {}, using PageFactory", type.getName());
+                return null;
+            } catch (ReflectiveOperationException | LinkageError e) {
+                logger.warn("Cannot create binding for {}, using PageFactory", type.getName(), e);
+                return null;
+            }
+        }
+        return Collections.unmodifiableList(chain);
+    }
+}
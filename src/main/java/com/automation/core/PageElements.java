@@ -0,0 +1,89 @@
+package com.automation.core;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates the elements generated page bindings assign to fields. Each field gets the locator
+ * for the page's platform: web pages use @FindBy, mobile pages their @AndroidFindBy or
+ * @iOSXCUITFindBy and fall back to @FindBy.
+ */
+public class PageElements {
+    enum Platform { WEB, ANDROID, IOS }
+
+    private final SearchContext context;
+    private final Platform platform;
+    private final Map<Object, Duration> timeouts;
+    private final AtomicLong epoch;
+
+    PageElements(SearchContext context, Platform platform, Map<Object, Duration> timeouts) {
+        this.context = context;
+        this.platform = platform;
+        this.timeouts = timeouts;
+        this.epoch = ElementCache.isEnabled() ? ElementCache.epoch(context) : null;
+    }
+
+    /**
+     * Element for a field; any locator may be null. The wait profile may be null too.
+     */
+    public WebElement element(String field, By web, By android, By ios, String waitProfile) {
+        By by = web;
+        if (platform == Platform.ANDROID && android != null) {
+            by = android;
+        } else if (platform == Platform.IOS && ios != null) {
+            by = ios;
+        }
+        ElementLocator locator = new ByLocator(context, by, field, platform);
+        if (epoch != null) {
+            locator = new CachingElementLocator(locator, epoch);
+        }
+        WebElement element = new BoundElement(locator);
+        if (waitProfile != null) {
+            timeouts.put(element, WaitEngine.profileTimeout(waitProfile));
+        }
+        return element;
+    }
+
+    private static class ByLocator implements ElementLocator {
+        private final SearchContext context;
+        private final By by;
+        private final String field;
+        private final Platform platform;
+
+        private ByLocator(SearchContext context, By by, String field, Platform platform) {
+            this.context = context;
+            this.by = by;
+            this.field = field;
+            this.platform = platform;
+        }
+
+        @Override
+        public WebElement findElement() {
+            if (by == null) {
+                throw new NoSuchElementException("No " + platform + " locator for field: " + field);
+            }
+            return context.findElement(by);
+        }
+
+        @Override
+        public List<WebElement> findElements() {
+            if (by == null) {
+                throw new NoSuchElementException("No " + platform + " locator for field: " + field);
+            }
+            return context.findElements(by);
+        }
+
+        @Override
+        public String toString() {
+            return field + " located by " + by;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.automation.core;
+
+import com.automation.utils.ConfigManager;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Explicit waits with adaptive polling: the first polls come quickly so conditions that are
+ * already true, or almost true, return at once, and the interval then backs off towards
+ * wait.poll.max.ms. With wait.zero.implicit=true drivers run without an implicit wait, so
+ * absence checks answer immediately instead of stalling for the implicit timeout.
+ */
+public class WaitEngine {
+    private static final Logger logger = LogManager.getLogger(WaitEngine.class);
+
+    private final WebDriver driver;
+    private final Duration timeout;
+
+    public WaitEngine(WebDriver driver, Duration timeout) {
+        this.driver = driver;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Implicit wait new drivers should be configured with.
+     */
+    public static Duration driverImplicitWait() {
+        return ConfigManager.isZeroImplicitWait() ? Duration.ZERO : ConfigManager.getImplicitWaitTimeout();
+    }
+
+    /**
+     * Timeout of the named profile, falling back to explicit.wait for unknown names.
+     */
+    public static Duration profileTimeout(String profile) {
+        Duration profileTimeout = ConfigManager.getWaitProfiles().get(profile);
+        if (profileTimeout == null) {
+            logger.warn("Unknown wait profile '{}', using explicit.wait", profile);
+            return ConfigManager.getExplicitWaitTimeout();
+        }
+        return profileTimeout;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public <T> T until(Function<? super WebDriver, T> condition) {
+        return until(condition, timeout);
+    }
+
+    /**
+     * Polls the condition until it returns a non-null, non-false value. Lookup and staleness
+     * errors count as "not yet"; the last one is attached to the TimeoutException.
+     */
+    public <T> T until(Function<? super WebDriver, T> condition, Duration timeout) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long interval = TimeUnit.MILLISECONDS.toNanos(ConfigManager.getWaitPollInitialMillis());
+        long maxInterval = TimeUnit.MILLISECONDS.toNanos(ConfigManager.getWaitPollMaxMillis());
+        int polls = 0;
+        RuntimeException lastError = null;
+        try {
+            while (true) {
+                polls++;
+                try {
+                    T value = condition.apply(driver);
+                    if (value != null && !Boolean.FALSE.equals(value)) {
+                        return value;
+                    }
+                } catch (NotFoundException | StaleElementReferenceException e) {
+                    lastError = e;
+                }
+
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new TimeoutException("Expected condition failed: waiting for " + condition
+                            + " (tried for " + timeout.toMillis() + " ms with " + polls + " polls)", lastError);
+                }
+                TimeUnit.NANOSECONDS.sleep(Math.min(interval, remaining));
+                interval = Math.min(maxInterval, (long) (interval * ConfigManager.getWaitPollBackoff()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted while waiting for " + condition, e);
+        } finally {
+            WaitStats.recordWait(System.nanoTime() - start);
+        }
+    }
+
+    public WebElement untilVisible(WebElement element, Duration timeout) {
+        return untilElement(element, DomWaits.Condition.VISIBLE, ExpectedConditions.visibilityOf(element), timeout);
+    }
+
+    public WebElement untilClickable(WebElement element, Duration timeout) {
+        return untilElement(element, DomWaits.Condition.CLICKABLE, ExpectedConditions.elementToBeClickable(element), timeout);
+    }
+
+    /**
+     * Element waits use a single in-page wait when wait.strategy=dom-events and the driver
+     * supports it. If the element is not in the DOM yet, or the page navigates mid-wait, the
+     * rest of the timeout is spent polling.
+     */
+    private WebElement untilElement(WebElement element, DomWaits.Condition condition,
+                                    Function<? super WebDriver, WebElement> pollCondition, Duration timeout) {
+        if (!useDomEvents()) {
+            return until(pollCondition, timeout);
+        }
+        long start = System.nanoTime();
+        try {
+            if (DomWaits.await(driver, element, condition, timeout)) {
+                return element;
+            }
+            throw new TimeoutException("Expected condition failed: waiting for " + pollCondition
+                    + " (tried for " + timeout.toMillis() + " ms in page)");
+        } catch (TimeoutException e) {
+            throw e;
+        } catch (WebDriverException e) {
+            logger.debug("In-page wait unavailable, polling instead: {}", e.getMessage());
+        } finally {
+            WaitStats.recordWait(System.nanoTime() - start);
+        }
+        Duration remaining = timeout.minusNanos(System.nanoTime() - start);
+        return until(pollCondition, remaining.isNegative() ? Duration.ZERO : remaining);
+    }
+
+    private boolean useDomEvents() {
+        return "dom-events".equals(ConfigManager.getWaitStrategy()) && DomWaits.isSupported(driver);
+    }
+
+    /**
+     * Checks visibility once, without waiting for the element to appear.
+     */
+    public boolean isDisplayedNow(WebElement element) {
+        return withoutImplicitWait(() -> {
+            try {
+                return element.isDisplayed();
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Waits until the element is missing or hidden; returns false if it is still shown
+     * after the timeout.
+     */
+    public boolean waitForAbsence(WebElement element, Duration timeout) {
+        Duration remaining = timeout;
+        if (useDomEvents()) {
+            long start = System.nanoTime();
+            try {
+                return DomWaits.await(driver, element, DomWaits.Condition.ABSENT, timeout);
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                return true;
+            } catch (WebDriverException e) {
+                logger.debug("In-page wait unavailable, polling instead: {}", e.getMessage());
+            } finally {
+                WaitStats.recordWait(System.nanoTime() - start);
+            }
+            remaining = timeout.minusNanos(System.nanoTime() - start);
+        }
+        try {
+            until(ignored -> !isDisplayedNow(element), remaining.isNegative() ? Duration.ZERO : remaining);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    // Runs a one-shot lookup with the implicit wait lifted when drivers still use one
+    private <T> T withoutImplicitWait(Supplier<T> lookup) {
+        if (ConfigManager.isZeroImplicitWait() || driver == null) {
+            return lookup.get();
+        }
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        try {
+            return lookup.get();
+        } finally {
+            driver.manage().timeouts().implicitlyWait(ConfigManager.getImplicitWaitTimeout());
+        }
+    }
+}
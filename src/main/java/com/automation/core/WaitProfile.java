@@ -0,0 +1,18 @@
+package com.automation.core;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Selects a named wait timeout (wait.profile.&lt;name&gt; in config.properties) for a whole page
+ * class or a single page element field. Unannotated pages use explicit.wait.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.FIELD})
+public @interface WaitProfile {
+
+    /** Name of the profile, e.g. "fast" or "slow". */
+    String value();
+}
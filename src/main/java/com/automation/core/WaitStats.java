@@ -0,0 +1,62 @@
+package com.automation.core;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-thread totals of time spent waiting for conditions versus performing element actions,
+ * reset at the start of each test.
+ */
+public class WaitStats {
+    private static final ThreadLocal<WaitStats> current = ThreadLocal.withInitial(WaitStats::new);
+
+    private long waitNanos;
+    private long actionNanos;
+    private int waits;
+    private int actions;
+
+    public static WaitStats current() {
+        return current.get();
+    }
+
+    public static void reset() {
+        current.remove();
+    }
+
+    static void recordWait(long nanos) {
+        WaitStats stats = current.get();
+        stats.waitNanos += nanos;
+        stats.waits++;
+    }
+
+    static void recordAction(long nanos) {
+        WaitStats stats = current.get();
+        stats.actionNanos += nanos;
+        stats.actions++;
+    }
+
+    public long getWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(waitNanos);
+    }
+
+    public long getActionMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(actionNanos);
+    }
+
+    public int getWaits() {
+        return waits;
+    }
+
+    public int getActions() {
+        return actions;
+    }
+
+    public boolean isEmpty() {
+        return waits == 0 && actions == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Waiting: " + getWaitMillis() + " ms over " + waits + " waits, acting: "
+                + getActionMillis() + " ms over " + actions + " actions";
+    }
+}
@@ -0,0 +1,179 @@
+package com.automation.listeners;
+
+import com.automation.utils.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Longest-processing-time-first scheduling from recorded test durations. The &lt;test&gt;
+ * blocks of a suite are reordered so the longest starts first, and the methods of each block
+ * are handed to TestNG longest first; a worker pool taking methods in that order is the LPT
+ * heuristic, whose makespan stays within 4/3 of optimal. Enabled with schedule.duration.aware.
+ * With shard.total &gt; 1 each agent first keeps only its slice of the suite (see {@link ShardPlan}),
+ * and with rerun.manifest set only the listed tests are scheduled (see {@link RerunManifest}).
+ */
+public class DurationAwareScheduler implements IMethodInterceptor, IAlterSuiteListener {
+    private static final Logger logger = LogManager.getLogger(DurationAwareScheduler.class);
+    private static DurationHistory history;
+    private static final Map<String, ShardPlan> shardPlans = new HashMap<>();
+    private static RerunManifest rerun;
+    private static boolean rerunLoaded;
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        if (!ConfigManager.isScheduleDurationAware()) {
+            return;
+        }
+        DurationHistory durations = history();
+        for (XmlSuite suite : suites) {
+            List<XmlTest> tests = new ArrayList<>(suite.getTests());
+            tests.sort(Comparator.comparingLong((XmlTest test) -> estimate(test, durations)).reversed());
+            suite.setTests(tests);
+            for (XmlTest test : tests) {
+                logger.debug("Scheduled <test> '{}': estimated {} ms", test.getName(), estimate(test, durations));
+            }
+        }
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        RerunManifest manifest = rerun();
+        if (manifest != null) {
+            List<IMethodInstance> listed = new ArrayList<>();
+            for (IMethodInstance method : methods) {
+                if (manifest.includes(method.getMethod())) {
+                    listed.add(method);
+                }
+            }
+            logger.info("Rerun of '{}': {} of {} methods", context.getName(), listed.size(), methods.size());
+            methods = listed;
+        }
+        if (ConfigManager.getShardTotal() > 1) {
+            methods = shard(methods, context);
+        }
+        if (!ConfigManager.isScheduleDurationAware() || methods.isEmpty()) {
+            return methods;
+        }
+        DurationHistory durations = history();
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        ordered.sort(Comparator.comparingLong((IMethodInstance method) -> durations.estimate(key(method.getMethod()))).reversed());
+
+        int threads = context.getCurrentXmlTest().getParallel() == XmlSuite.ParallelMode.METHODS
+                ? Math.max(1, context.getCurrentXmlTest().getThreadCount())
+                : 1;
+        long total = 0;
+        int unknown = 0;
+        for (IMethodInstance method : ordered) {
+            total += durations.estimate(key(method.getMethod()));
+            if (!durations.isKnown(key(method.getMethod()))) {
+                unknown++;
+            }
+        }
+        logger.info("Scheduled {} methods of '{}' longest first: estimated {} s of work, {} s on {} threads ({} without history)",
+                ordered.size(), context.getName(), total / 1000, makespan(ordered, durations, threads) / 1000, threads, unknown);
+        return ordered;
+    }
+
+    private static List<IMethodInstance> shard(List<IMethodInstance> methods, ITestContext context) {
+        int shard = ConfigManager.getShardIndex();
+        ShardPlan plan = shardPlan(context.getSuite());
+        List<IMethodInstance> kept = new ArrayList<>();
+        for (IMethodInstance method : methods) {
+            if (plan.includes(method.getMethod(), shard)) {
+                kept.add(method);
+            }
+        }
+        logger.info("Shard {}/{} runs {} of {} methods of '{}'",
+                shard + 1, ConfigManager.getShardTotal(), kept.size(), methods.size(), context.getName());
+        return kept;
+    }
+
+    // Computed once per suite from all of its methods, so every <test> block sees the same split
+    private static ShardPlan shardPlan(ISuite suite) {
+        synchronized (shardPlans) {
+            ShardPlan plan = shardPlans.get(suite.getName());
+            if (plan == null) {
+                int shard = ConfigManager.getShardIndex();
+                int total = ConfigManager.getShardTotal();
+                List<ITestNGMethod> methods = new ArrayList<>(suite.getAllMethods());
+                RerunManifest manifest = rerun();
+                if (manifest != null) {
+                    methods.removeIf(method -> !manifest.includes(method));
+                }
+                plan = ShardPlan.compute(methods, history(), total);
+                logger.info("Shard {}/{} of suite '{}': {} methods, estimated {} s (largest shard {} s)",
+                        shard + 1, total, suite.getName(), plan.size(shard), plan.load(shard) / 1000, maxLoad(plan, total) / 1000);
+                plan.writeManifest(suite.getName(), shard, history());
+                shardPlans.put(suite.getName(), plan);
+            }
+            return plan;
+        }
+    }
+
+    private static long maxLoad(ShardPlan plan, int total) {
+        long max = 0;
+        for (int i = 0; i < total; i++) {
+            max = Math.max(max, plan.load(i));
+        }
+        return max;
+    }
+
+    static String key(ITestNGMethod method) {
+        return DurationHistory.key(method.getRealClass().getName(), method.getMethodName());
+    }
+
+    private static synchronized RerunManifest rerun() {
+        if (!rerunLoaded) {
+            rerun = RerunManifest.load();
+            rerunLoaded = true;
+        }
+        return rerun;
+    }
+
+    static synchronized DurationHistory history() {
+        if (history == null) {
+            history = DurationHistory.load();
+        }
+        return history;
+    }
+
+    private static long estimate(XmlTest test, DurationHistory durations) {
+        long total = 0;
+        for (XmlClass xmlClass : test.getXmlClasses()) {
+            total += durations.estimateClass(xmlClass.getName());
+        }
+        return total;
+    }
+
+    // Finish time when each method goes to the least loaded worker, in the given order
+    private static long makespan(List<IMethodInstance> ordered, DurationHistory durations, int threads) {
+        PriorityQueue<Long> workers = new PriorityQueue<>();
+        for (int i = 0; i < threads; i++) {
+            workers.add(0L);
+        }
+        for (IMethodInstance method : ordered) {
+            workers.add(workers.poll() + durations.estimate(key(method.getMethod())));
+        }
+        long makespan = 0;
+        for (long load : workers) {
+            makespan = Math.max(makespan, load);
+        }
+        return makespan;
+    }
+}
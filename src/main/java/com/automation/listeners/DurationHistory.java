@@ -0,0 +1,236 @@
+package com.automation.listeners;
+
+import com.automation.utils.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Test durations from earlier runs, keyed by class#method, in milliseconds. Each run is blended
+ * into the stored value (half old, half new) so one slow run does not dominate. Tests without
+ * history are estimated from their class, then the whole suite, then schedule.default.duration.ms.
+ * Sharded runs write only their own tests to a sibling durations.shard-N file, so the files of
+ * all agents can be copied into one directory; they are read on top of the main file and folded
+ * into it by the next unsharded run, or by running this class before the shards start (CI does
+ * that so every agent reads the same single file).
+ */
+public class DurationHistory {
+    private static final Logger logger = LogManager.getLogger(DurationHistory.class);
+
+    private final Map<String, Long> durations;
+    private final Map<String, Long> classEstimates = new HashMap<>();
+    private final long defaultEstimate;
+
+    private DurationHistory(Map<String, Long> durations) {
+        this.durations = durations;
+        Map<String, List<Long>> byClass = new HashMap<>();
+        durations.forEach((key, millis) -> byClass.computeIfAbsent(className(key), ignored -> new ArrayList<>()).add(millis));
+        byClass.forEach((testClass, values) -> classEstimates.put(testClass, median(values)));
+        this.defaultEstimate = durations.isEmpty()
+                ? ConfigManager.getScheduleDefaultDurationMillis()
+                : median(new ArrayList<>(durations.values()));
+    }
+
+    static String key(String className, String methodName) {
+        return className + "#" + methodName;
+    }
+
+    static DurationHistory of(Map<String, Long> durations) {
+        return new DurationHistory(new HashMap<>(durations));
+    }
+
+    static DurationHistory load() {
+        Map<String, Long> durations = new HashMap<>();
+        Path file = Paths.get(ConfigManager.getScheduleHistoryFile());
+        read(file, durations);
+        for (Path shardFile : shardFiles(file)) {
+            read(shardFile, durations);
+        }
+        return new DurationHistory(durations);
+    }
+
+    private static void read(Path file, Map<String, Long> durations) {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+            for (String key : properties.stringPropertyNames()) {
+                try {
+                    durations.put(key, Long.parseLong(properties.getProperty(key).trim()));
+                } catch (NumberFormatException e) {
+                    logger.warn("Ignoring invalid duration for {} in {}", key, file);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Cannot read test duration history: {}", file, e);
+        }
+    }
+
+    // Shard files next to the history file, oldest first so newer runs win
+    private static List<Path> shardFiles(Path file) {
+        List<Path> shardFiles = new ArrayList<>();
+        Path directory = file.toAbsolutePath().getParent();
+        if (!Files.isDirectory(directory)) {
+            return shardFiles;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, baseName(file) + ".shard-*.properties")) {
+            stream.forEach(shardFiles::add);
+        } catch (IOException e) {
+            logger.warn("Cannot list shard duration files in {}", directory, e);
+        }
+        shardFiles.sort(Comparator.comparingLong(DurationHistory::lastModified).thenComparing(Path::toString));
+        return shardFiles;
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static String baseName(Path file) {
+        String name = file.getFileName().toString();
+        int extension = name.lastIndexOf('.');
+        return extension > 0 ? name.substring(0, extension) : name;
+    }
+
+    boolean isKnown(String key) {
+        return durations.containsKey(key);
+    }
+
+    long estimate(String key) {
+        Long millis = durations.get(key);
+        if (millis != null) {
+            return millis;
+        }
+        return classEstimates.getOrDefault(className(key), defaultEstimate);
+    }
+
+    /**
+     * Estimated duration of all known methods of a class, or one default estimate if none are known.
+     */
+    long estimateClass(String className) {
+        String prefix = className + "#";
+        long total = 0;
+        for (Map.Entry<String, Long> entry : durations.entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                total += entry.getValue();
+            }
+        }
+        return total > 0 ? total : defaultEstimate;
+    }
+
+    /**
+     * Checksum of all entries. Shards only agree on a split when they read the same history,
+     * so the shard manifests record it.
+     */
+    String fingerprint() {
+        CRC32 crc = new CRC32();
+        new TreeMap<>(durations).forEach((key, millis) -> crc.update((key + "=" + millis + "\n").getBytes(StandardCharsets.UTF_8)));
+        return Long.toHexString(crc.getValue());
+    }
+
+    int size() {
+        return durations.size();
+    }
+
+    /**
+     * Blends this run's durations into the history file, or into this shard's file when the
+     * suite is sharded.
+     */
+    static synchronized void update(Map<String, Long> runDurations) {
+        if (runDurations.isEmpty()) {
+            return;
+        }
+        Path file = Paths.get(ConfigManager.getScheduleHistoryFile());
+        boolean sharded = ConfigManager.getShardTotal() > 1;
+        Map<String, Long> history = load().durations;
+        Map<String, Long> merged = sharded ? new HashMap<>() : new HashMap<>(history);
+        runDurations.forEach((key, millis) -> {
+            Long previous = history.get(key);
+            merged.put(key, previous == null ? millis : (previous + millis) / 2);
+        });
+
+        Path target = sharded
+                ? file.resolveSibling(baseName(file) + ".shard-" + ConfigManager.getShardIndex() + ".properties")
+                : file;
+        try {
+            write(target, merged);
+            if (!sharded) {
+                deleteShardFiles(file);
+            }
+            logger.info("Updated durations of {} tests in {}", runDurations.size(), target);
+        } catch (IOException e) {
+            logger.warn("Cannot write test duration history: {}", target, e);
+        }
+    }
+
+    /**
+     * Folds the shard files into the main history file and deletes them.
+     */
+    static synchronized void fold() throws IOException {
+        Path file = Paths.get(ConfigManager.getScheduleHistoryFile());
+        if (shardFiles(file).isEmpty()) {
+            return;
+        }
+        DurationHistory history = load();
+        write(file, history.durations);
+        deleteShardFiles(file);
+        logger.info("Folded shard durations into {} ({} tests)", file, history.size());
+    }
+
+    // Folds shard files left by an earlier sharded run, with mvn exec:java@fold-durations
+    public static void main(String[] args) throws IOException {
+        fold();
+    }
+
+    private static void write(Path target, Map<String, Long> durations) throws IOException {
+        Properties properties = new Properties();
+        durations.forEach((key, millis) -> properties.setProperty(key, String.valueOf(millis)));
+        Path parent = target.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, ".durations", ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            properties.store(out, "Test durations in ms (class#method), blended across runs");
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void deleteShardFiles(Path file) throws IOException {
+        for (Path shardFile : shardFiles(file)) {
+            Files.deleteIfExists(shardFile);
+        }
+    }
+
+    private static String className(String key) {
+        int separator = key.indexOf('#');
+        return separator < 0 ? key : key.substring(0, separator);
+    }
+
+    private static long median(List<Long> values) {
+        Collections.sort(values);
+        return values.get(values.size() / 2);
+    }
+}
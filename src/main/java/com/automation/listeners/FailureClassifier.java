@@ -0,0 +1,115 @@
+package com.automation.listeners;
+
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.net.http.HttpTimeoutException;
+import java.util.Locale;
+
+/**
+ * Sorts test failures into infrastructure problems worth retrying and product failures that
+ * are not. The exception and its causes are checked outermost first.
+ */
+class FailureClassifier {
+
+    enum Failure {
+        // The browser or device session died; the retry needs a new one
+        DRIVER_CRASH(true, true),
+        // A script, page load or driver command ran out of time; the session may be wedged, so it is replaced too
+        TIMEOUT(true, true),
+        // Connection refused, reset or timed out; the session itself is fine
+        NETWORK(true, false),
+        ASSERTION(false, false),
+        // An explicit wait's condition never held, usually the page really is wrong
+        WAIT_EXPIRED(false, false),
+        OTHER(false, false);
+
+        private final boolean retryable;
+        private final boolean freshDriver;
+
+        Failure(boolean retryable, boolean freshDriver) {
+            this.retryable = retryable;
+            this.freshDriver = freshDriver;
+        }
+
+        boolean isRetryable() {
+            return retryable;
+        }
+
+        boolean needsFreshDriver() {
+            return freshDriver;
+        }
+    }
+
+    // Driver errors that only show up in the message, from chromedriver, geckodriver and Appium
+    private static final String[] CRASH_MESSAGES = {
+            "invalid session id", "session deleted", "chrome not reachable", "disconnected:",
+            "browser has closed", "tab crashed", "instrumentation process is not running"
+    };
+
+    // Timeouts the browser reports for a page that did not finish loading
+    private static final String[] PAGE_LOAD_MESSAGES = {
+            "timed out receiving message from renderer", "page to load", "page load"
+    };
+
+    private FailureClassifier() {
+    }
+
+    static Failure classify(Throwable failure) {
+        int depth = 0;
+        for (Throwable cause = failure; cause != null && depth < 10; cause = cause.getCause(), depth++) {
+            Failure classified = classifyOne(cause);
+            if (classified != Failure.OTHER) {
+                return classified;
+            }
+        }
+        return Failure.OTHER;
+    }
+
+    private static Failure classifyOne(Throwable failure) {
+        if (failure instanceof AssertionError) {
+            return Failure.ASSERTION;
+        }
+        if (failure instanceof NoSuchSessionException || failure instanceof SessionNotCreatedException
+                || failure instanceof UnreachableBrowserException) {
+            return Failure.DRIVER_CRASH;
+        }
+        if (failure instanceof ScriptTimeoutException || failure instanceof java.util.concurrent.TimeoutException) {
+            return Failure.TIMEOUT;
+        }
+        // WebDriverWait and WaitEngine throw this too when an element never shows up
+        if (failure instanceof org.openqa.selenium.TimeoutException) {
+            return containsAny(failure.getMessage(), PAGE_LOAD_MESSAGES) ? Failure.TIMEOUT : Failure.WAIT_EXPIRED;
+        }
+        if (failure instanceof ConnectException || failure instanceof UnknownHostException
+                || failure instanceof NoRouteToHostException || failure instanceof SocketTimeoutException
+                || failure instanceof SocketException || failure instanceof HttpTimeoutException) {
+            return Failure.NETWORK;
+        }
+        if (failure instanceof WebDriverException && containsAny(failure.getMessage(), CRASH_MESSAGES)) {
+            return Failure.DRIVER_CRASH;
+        }
+        return Failure.OTHER;
+    }
+
+    private static boolean containsAny(String message, String[] fragments) {
+        if (message == null) {
+            return false;
+        }
+        String lowerCase = message.toLowerCase(Locale.ROOT);
+        for (String fragment : fragments) {
+            if (lowerCase.contains(fragment)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,125 @@
+package com.automation.listeners;
+
+import com.automation.utils.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.ISuite;
+import org.testng.ISuiteResult;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Failed and skipped tests of a run, one "test name/class#method" line each, written to
+ * test-output/rerun/rerun-shard-N.txt. Running with -Drerun.manifest=&lt;file or directory&gt;
+ * runs only the listed tests; lines may also be a bare class#method to match every &lt;test&gt;.
+ */
+class RerunManifest {
+    private static final Logger logger = LogManager.getLogger(RerunManifest.class);
+    private static final Path RERUN_DIR = Paths.get("test-output", "rerun");
+
+    private final Set<String> entries;
+
+    private RerunManifest(Set<String> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Reads rerun.manifest, or returns null when it is not set or cannot be read, in which
+     * case everything runs.
+     */
+    static RerunManifest load() {
+        String location = ConfigManager.getRerunManifest();
+        if (location.isEmpty()) {
+            return null;
+        }
+        Path path = Paths.get(location);
+        List<Path> files = new ArrayList<>();
+        try {
+            if (Files.isDirectory(path)) {
+                try (DirectoryStream<Path> stream = Files.newDirectoryStream(path, "*.txt")) {
+                    stream.forEach(files::add);
+                }
+            } else if (Files.isRegularFile(path)) {
+                files.add(path);
+            } else {
+                logger.warn("Rerun manifest {} not found, running all tests", path);
+                return null;
+            }
+            Set<String> entries = new HashSet<>();
+            for (Path file : files) {
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    line = line.trim();
+                    if (!line.isEmpty() && !line.startsWith("#")) {
+                        entries.add(line);
+                    }
+                }
+            }
+            logger.info("Rerunning {} tests listed in {}", entries.size(), path);
+            return new RerunManifest(entries);
+        } catch (IOException e) {
+            logger.warn("Cannot read rerun manifest {}, running all tests", path, e);
+            return null;
+        }
+    }
+
+    boolean includes(ITestNGMethod method) {
+        String key = DurationAwareScheduler.key(method);
+        return entries.contains(key) || entries.contains(method.getXmlTest().getName() + "/" + key);
+    }
+
+    /**
+     * Lists the suite's failed tests, and tests skipped other than for a retry. When a listed
+     * method depends on others, its whole class is listed so the dependencies run too.
+     */
+    static void write(ISuite suite) {
+        Set<String> entries = new TreeSet<>();
+        for (ISuiteResult suiteResult : suite.getResults().values()) {
+            ITestContext context = suiteResult.getTestContext();
+            List<ITestResult> rerun = new ArrayList<>(context.getFailedTests().getAllResults());
+            for (ITestResult skipped : context.getSkippedTests().getAllResults()) {
+                if (!skipped.wasRetried()) {
+                    rerun.add(skipped);
+                }
+            }
+            for (ITestResult result : rerun) {
+                ITestNGMethod method = result.getMethod();
+                if (method.getMethodsDependedUpon().length > 0 || method.getGroupsDependedUpon().length > 0) {
+                    for (ITestNGMethod sibling : context.getAllTestMethods()) {
+                        if (sibling.getRealClass() == method.getRealClass()) {
+                            entries.add(context.getName() + "/" + DurationAwareScheduler.key(sibling));
+                        }
+                    }
+                } else {
+                    entries.add(context.getName() + "/" + DurationAwareScheduler.key(method));
+                }
+            }
+        }
+
+        List<String> lines = new ArrayList<>();
+        lines.add("# Failed and skipped tests of " + suite.getName() + ", " + Instant.now());
+        lines.add("# Run only these with -Drerun.manifest=" + RERUN_DIR.toString().replace('\\', '/'));
+        lines.addAll(entries);
+        try {
+            Files.createDirectories(RERUN_DIR);
+            Path file = RERUN_DIR.resolve("rerun-shard-" + ConfigManager.getShardIndex() + ".txt");
+            Files.write(file, lines, StandardCharsets.UTF_8);
+            logger.info("Rerun manifest with {} tests written to: {}", entries.size(), file);
+        } catch (IOException e) {
+            logger.error("Failed to write rerun manifest", e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.automation.listeners;
+
+import com.automation.core.DriverManager;
+import com.automation.utils.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+
+/**
+ * Retries a failed test up to retry.failed.tests times when the failure is infrastructure
+ * (see {@link FailureClassifier}); assertion and other failures fail at once. TestNG asks
+ * before @AfterMethod runs, so a crashed or wedged driver is discarded here and the retry's
+ * @BeforeMethod starts a new session.
+ */
+public class RetryAnalyzer implements IRetryAnalyzer {
+    private static final Logger logger = LogManager.getLogger(RetryAnalyzer.class);
+    static final String RETRY_REASON = "retryReason";
+
+    private int attempts;
+
+    @Override
+    public boolean retry(ITestResult result) {
+        FailureClassifier.Failure failure = FailureClassifier.classify(result.getThrowable());
+        String name = result.getMethod().getQualifiedName();
+        if (!failure.isRetryable()) {
+            logger.info("{} failed with {}, not retrying", name, failure);
+            return false;
+        }
+        if (attempts >= ConfigManager.getRetryFailedTests()) {
+            logger.warn("{} failed with {} after {} retries", name, failure, attempts);
+            return false;
+        }
+        attempts++;
+        if (failure.needsFreshDriver()) {
+            DriverManager.discardDrivers();
+        }
+        result.setAttribute(RETRY_REASON, failure.name());
+        logger.warn("Retrying {} ({} of {}) after {}", name, attempts, ConfigManager.getRetryFailedTests(), failure);
+        return true;
+    }
+}
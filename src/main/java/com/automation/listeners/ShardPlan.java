@@ -0,0 +1,154 @@
+package com.automation.listeners;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.ITestNGMethod;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Split of a suite's test methods across shard.total agents. Every agent computes the same plan
+ * from the same inputs: units (a method, or a whole class when its methods depend on each other)
+ * are sorted by estimated duration, then by name, and each goes to the least loaded shard. Tests
+ * without history get the same estimate on every agent, so they are spread consistently too.
+ */
+class ShardPlan {
+    private static final Logger logger = LogManager.getLogger(ShardPlan.class);
+    private static final Path SHARDS_DIR = Paths.get("test-output", "shards");
+
+    private final int total;
+    private final long[] loads;
+    private final Map<String, Unit> units;
+
+    private ShardPlan(int total, Map<String, Unit> units) {
+        this.total = total;
+        this.loads = new long[total];
+        this.units = units;
+
+        List<Unit> ordered = new ArrayList<>(units.values());
+        ordered.sort((a, b) -> a.estimate != b.estimate ? Long.compare(b.estimate, a.estimate) : a.id.compareTo(b.id));
+        for (Unit unit : ordered) {
+            int shard = 0;
+            for (int i = 1; i < total; i++) {
+                if (loads[i] < loads[shard]) {
+                    shard = i;
+                }
+            }
+            unit.shard = shard;
+            loads[shard] += unit.estimate;
+        }
+    }
+
+    static ShardPlan compute(Collection<ITestNGMethod> methods, DurationHistory history, int total) {
+        Set<String> dependentClasses = new HashSet<>();
+        for (ITestNGMethod method : methods) {
+            if (method.getMethodsDependedUpon().length > 0 || method.getGroupsDependedUpon().length > 0) {
+                dependentClasses.add(classId(method));
+            }
+        }
+
+        Map<String, Unit> units = new TreeMap<>();
+        for (ITestNGMethod method : methods) {
+            String id = dependentClasses.contains(classId(method)) ? classId(method) : classId(method) + "#" + method.getMethodName();
+            Unit unit = units.computeIfAbsent(id, Unit::new);
+            String key = DurationAwareScheduler.key(method);
+            if (unit.keys.add(key)) {
+                unit.estimate += history.estimate(key);
+                unit.known &= history.isKnown(key);
+            }
+        }
+        return new ShardPlan(total, units);
+    }
+
+    // Methods of the same class run in different <test> blocks are scheduled separately
+    private static String classId(ITestNGMethod method) {
+        return method.getXmlTest().getName() + "/" + method.getRealClass().getName();
+    }
+
+    boolean includes(ITestNGMethod method, int shard) {
+        Unit unit = units.get(classId(method));
+        if (unit == null) {
+            unit = units.get(classId(method) + "#" + method.getMethodName());
+        }
+        // Methods missing from the plan run on shard 0 rather than nowhere
+        return unit != null ? unit.shard == shard : shard == 0;
+    }
+
+    int size(int shard) {
+        int size = 0;
+        for (Unit unit : units.values()) {
+            if (unit.shard == shard) {
+                size += unit.keys.size();
+            }
+        }
+        return size;
+    }
+
+    long load(int shard) {
+        return loads[shard];
+    }
+
+    /**
+     * Writes test-output/shards/shard-N-of-M.json with this shard's tests and the estimated load
+     * of every shard. The manifests of all shards together list every test exactly once.
+     */
+    void writeManifest(String suiteName, int shard, DurationHistory history) {
+        List<Map<String, Object>> tests = new ArrayList<>();
+        for (Unit unit : units.values()) {
+            if (unit.shard == shard) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("unit", unit.id);
+                row.put("methods", new ArrayList<>(unit.keys));
+                row.put("estimatedMs", unit.estimate);
+                row.put("fromHistory", unit.known);
+                tests.add(row);
+            }
+        }
+        List<Long> estimatedLoads = new ArrayList<>();
+        for (long load : loads) {
+            estimatedLoads.add(load);
+        }
+
+        Map<String, Object> manifest = new LinkedHashMap<>();
+        manifest.put("suite", suiteName);
+        manifest.put("shardIndex", shard);
+        manifest.put("shardTotal", total);
+        manifest.put("historyEntries", history.size());
+        manifest.put("historyChecksum", history.fingerprint());
+        manifest.put("estimatedMsByShard", estimatedLoads);
+        manifest.put("tests", tests);
+        try {
+            Files.createDirectories(SHARDS_DIR);
+            Path file = SHARDS_DIR.resolve("shard-" + shard + "-of-" + total + ".json");
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), manifest);
+            logger.info("Shard manifest written to: {}", file);
+        } catch (IOException e) {
+            logger.error("Failed to write shard manifest", e);
+        }
+    }
+
+    private static class Unit {
+        private final String id;
+        private final Set<String> keys = new TreeSet<>();
+        private long estimate;
+        private boolean known = true;
+        private int shard;
+
+        private Unit(String id) {
+            this.id = id;
+        }
+    }
+}
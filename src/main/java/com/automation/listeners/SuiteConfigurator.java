@@ -0,0 +1,148 @@
+package com.automation.listeners;
+
+import com.automation.utils.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Applies parallel.execution and thread.count to the suite instead of the values hardcoded in
+ * testng.xml. In methods or classes mode the &lt;test&gt; blocks run side by side and each gets
+ * its own pool, sized by what the block drives: browser blocks share a budget bounded by cores,
+ * free memory and the driver pool, mobile blocks get one thread per device, and API blocks share
+ * a larger budget bounded by the HTTP connection pool.
+ */
+public class SuiteConfigurator implements IAlterSuiteListener {
+    private static final Logger logger = LogManager.getLogger(SuiteConfigurator.class);
+
+    private enum Kind { BROWSER, DEVICE, API }
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        String mode = ConfigManager.getParallelExecution();
+        if ("false".equals(mode)) {
+            return;
+        }
+        for (XmlSuite suite : suites) {
+            configure(suite, "true".equals(mode) ? "methods" : mode);
+        }
+    }
+
+    private void configure(XmlSuite suite, String mode) {
+        List<XmlTest> tests = suite.getTests();
+        switch (mode) {
+            case "none":
+                suite.setParallel(XmlSuite.ParallelMode.NONE);
+                suite.setThreadCount(1);
+                logger.info("Suite '{}' runs sequentially", suite.getName());
+                return;
+            case "tests":
+                int threads = ConfigManager.getThreadCount() > 0
+                        ? ConfigManager.getThreadCount()
+                        : Math.max(1, Math.min(tests.size(), cores()));
+                suite.setParallel(XmlSuite.ParallelMode.TESTS);
+                suite.setThreadCount(threads);
+                logger.info("Suite '{}' runs {} <test> blocks on {} threads", suite.getName(), tests.size(), threads);
+                return;
+            default:
+                break;
+        }
+
+        XmlSuite.ParallelMode testMode = XmlSuite.ParallelMode.getValidParallel(mode);
+        int browserTests = count(tests, Kind.BROWSER);
+        int apiTests = count(tests, Kind.API);
+        int browserBudget = browserBudget();
+        int apiBudget = apiBudget();
+        suite.setParallel(XmlSuite.ParallelMode.TESTS);
+        suite.setThreadCount(Math.max(1, tests.size()));
+        for (XmlTest test : tests) {
+            Kind kind = kindOf(test);
+            int threads;
+            if (kind == Kind.BROWSER) {
+                threads = Math.max(1, browserBudget / browserTests);
+            } else if (kind == Kind.API) {
+                threads = Math.max(1, apiBudget / apiTests);
+            } else {
+                threads = 1;
+            }
+            if (ConfigManager.getThreadCount() > 0) {
+                threads = Math.min(threads, ConfigManager.getThreadCount());
+            }
+            test.setParallel(testMode);
+            test.setThreadCount(threads);
+            logger.info("<test> '{}' ({}) runs {} in parallel on {} threads",
+                    test.getName(), kind.name().toLowerCase(Locale.ROOT), mode, threads);
+        }
+        logger.info("Suite '{}': browser budget {} threads, API budget {} threads", suite.getName(), browserBudget, apiBudget);
+    }
+
+    private static Kind kindOf(XmlTest test) {
+        String platform = test.getParameter("platform");
+        if (platform == null) {
+            return Kind.BROWSER;
+        }
+        switch (platform.toLowerCase(Locale.ROOT)) {
+            case "api":
+                return Kind.API;
+            case "android":
+            case "ios":
+                return Kind.DEVICE;
+            default:
+                return Kind.BROWSER;
+        }
+    }
+
+    private static int count(List<XmlTest> tests, Kind kind) {
+        int count = 0;
+        for (XmlTest test : tests) {
+            if (kindOf(test) == kind) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Each browser session needs about a core and thread.browser.memory.mb, and waits for a pooled driver beyond the pool size
+    private static int browserBudget() {
+        if (ConfigManager.getBrowserThreadCount() > 0) {
+            return ConfigManager.getBrowserThreadCount();
+        }
+        int budget = cores();
+        long freeMemoryMb = freeMemoryMb();
+        if (freeMemoryMb > 0) {
+            budget = (int) Math.min(budget, freeMemoryMb / ConfigManager.getBrowserMemoryMb());
+        }
+        if (ConfigManager.isDriverPoolEnabled()) {
+            budget = Math.min(budget, ConfigManager.getDriverPoolMaxSize());
+        }
+        return Math.max(1, budget);
+    }
+
+    // API tests mostly wait on the network, so they get several threads per core up to the connections per host
+    private static int apiBudget() {
+        if (ConfigManager.getApiThreadCount() > 0) {
+            return ConfigManager.getApiThreadCount();
+        }
+        return Math.max(1, Math.min(cores() * 4, ConfigManager.getApiPoolMaxPerRoute()));
+    }
+
+    private static int cores() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    @SuppressWarnings("deprecation")
+    private static long freeMemoryMb() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) os).getFreePhysicalMemorySize() / (1024 * 1024);
+        }
+        return -1;
+    }
+}
@@ -1,17 +1,80 @@
 package com.automation.listeners;
 
-import com.automation.core.DriverManager;
+import com.automation.api.ApiTraffic;
+import com.automation.api.ResponseCache;
+import com.automation.api.ResponseLogger;
+import com.automation.core.CommandMetrics;
+import com.automation.core.DriverPool;
+import com.automation.core.ElementCache;
+import com.automation.core.WaitStats;
 import com.automation.reports.ExtentManager;
+import com.automation.utils.ScreenshotPipeline;
 import com.automation.utils.ScreenshotUtil;
 import com.aventstack.extentreports.Status;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
+import org.testng.xml.XmlTest;
 
-public class TestListener implements ITestListener {
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+public class TestListener implements ITestListener, ISuiteListener, IInvokedMethodListener {
     private static final Logger logger = LogManager.getLogger(TestListener.class);
+    private static final long SCREENSHOT_DRAIN_TIMEOUT_MS = 60000;
+
+    @Override
+    public void onStart(ISuite suite) {
+        TestTimings.suiteStarted();
+        if (DriverPool.isEnabled()) {
+            Set<String> browsers = new LinkedHashSet<>();
+            for (XmlTest test : suite.getXmlSuite().getTests()) {
+                if ("web".equalsIgnoreCase(test.getParameter("platform"))) {
+                    String browser = test.getParameter("browser");
+                    browsers.add(browser != null ? browser.toLowerCase() : "chrome");
+                }
+            }
+            browsers.forEach(DriverPool::prewarm);
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        DriverPool.shutdown();
+        ApiTraffic.shutdown();
+        if (ResponseCache.isEnabled()) {
+            ResponseCache.logStatistics();
+            ExtentManager.setSystemInfo("API Response Cache", ResponseCache.getStatistics());
+        }
+        if (CommandMetrics.isEnabled()) {
+            CommandMetrics.publish();
+        }
+        if (ElementCache.isEnabled()) {
+            ElementCache.logStatistics();
+            ExtentManager.setSystemInfo("Element Cache", ElementCache.getStatistics());
+        }
+        ScreenshotPipeline.drain(SCREENSHOT_DRAIN_TIMEOUT_MS);
+        ExtentManager.flush();
+        TestTimings.publish(suite.getName());
+        RerunManifest.write(suite);
+    }
+
+    // Setup, body and teardown timings; listener callbacks below add their own time as reporting
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        TestTimings.beforeInvocation(method, testResult);
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        TestTimings.afterInvocation(method);
+    }
 
     @Override
     public void onStart(ITestContext context) {
@@ -22,49 +85,73 @@ public class TestListener implements ITestListener {
     @Override
     public void onFinish(ITestContext context) {
         logger.info("Test Suite Finished: {}", context.getName());
-        ExtentManager.flush();
     }
 
     @Override
     public void onTestStart(ITestResult result) {
+        long start = System.nanoTime();
         logger.info("Test Started: {}", result.getMethod().getMethodName());
         String testName = result.getMethod().getMethodName();
         String description = result.getMethod().getDescription() != null 
             ? result.getMethod().getDescription() 
             : "";
         ExtentManager.createTest(testName, description);
+        ResponseLogger.clear();
+        WaitStats.reset();
+        TestTimings.reporting(result, System.nanoTime() - start);
     }
 
     @Override
     public void onTestSuccess(ITestResult result) {
+        long start = System.nanoTime();
         logger.info("Test Passed: {}", result.getMethod().getMethodName());
-        ExtentManager.getTest().log(Status.PASS, "Test Passed: " + result.getMethod().getMethodName());
+        ExtentManager.log(Status.PASS, "Test Passed: " + result.getMethod().getMethodName());
+        logWaitStats(result);
+        ExtentManager.endTest(Status.PASS);
+        TestTimings.reporting(result, System.nanoTime() - start);
     }
 
     @Override
     public void onTestFailure(ITestResult result) {
+        long start = System.nanoTime();
         logger.error("Test Failed: {}", result.getMethod().getMethodName());
-        ExtentManager.getTest().log(Status.FAIL, "Test Failed: " + result.getMethod().getMethodName());
-        ExtentManager.getTest().log(Status.FAIL, result.getThrowable());
+        ExtentManager.log(Status.FAIL, "Test Failed: " + result.getMethod().getMethodName());
+        ExtentManager.log(Status.FAIL, result.getThrowable());
         
-        // Capture screenshot on failure
-        try {
-            String screenshotPath = ScreenshotUtil.captureScreenshot(result.getMethod().getMethodName());
-            if (screenshotPath != null) {
-                ExtentManager.addScreenshot(screenshotPath);
-                logger.info("Screenshot captured: {}", screenshotPath);
-            }
-        } catch (Exception e) {
-            logger.error("Failed to capture screenshot", e);
+        // Capture screenshot on failure; it is encoded, written and attached in the background
+        ExtentManager.addScreenshot(ScreenshotUtil.captureScreenshotAsync(result.getMethod().getMethodName()));
+
+        String responseBodyPath = ResponseLogger.writeLastResponse(result.getMethod().getMethodName());
+        if (responseBodyPath != null) {
+            ExtentManager.info("Last API response body: " + responseBodyPath);
         }
+        logWaitStats(result);
+        ExtentManager.endTest(Status.FAIL);
+        TestTimings.reporting(result, System.nanoTime() - start);
     }
 
     @Override
     public void onTestSkipped(ITestResult result) {
-        logger.warn("Test Skipped: {}", result.getMethod().getMethodName());
-        ExtentManager.getTest().log(Status.SKIP, "Test Skipped: " + result.getMethod().getMethodName());
-        if (result.getThrowable() != null) {
-            ExtentManager.getTest().log(Status.SKIP, result.getThrowable());
+        long start = System.nanoTime();
+        if (result.wasRetried()) {
+            logger.warn("Test Retried: {} ({})", result.getMethod().getMethodName(), result.getAttribute(RetryAnalyzer.RETRY_REASON));
+            ExtentManager.log(Status.SKIP, "Test Retried after " + result.getAttribute(RetryAnalyzer.RETRY_REASON)
+                    + ": " + result.getMethod().getMethodName());
+        } else {
+            logger.warn("Test Skipped: {}", result.getMethod().getMethodName());
+            ExtentManager.log(Status.SKIP, "Test Skipped: " + result.getMethod().getMethodName());
+        }
+        ExtentManager.log(Status.SKIP, result.getThrowable());
+        logWaitStats(result);
+        ExtentManager.endTest(Status.SKIP);
+        TestTimings.reporting(result, System.nanoTime() - start);
+    }
+
+    private void logWaitStats(ITestResult result) {
+        WaitStats stats = WaitStats.current();
+        if (!stats.isEmpty()) {
+            logger.info("{} - {}", result.getMethod().getMethodName(), stats);
+            ExtentManager.info(stats.toString());
         }
     }
 
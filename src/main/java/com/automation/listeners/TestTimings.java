@@ -0,0 +1,318 @@
+package com.automation.listeners;
+
+import com.automation.utils.ConfigManager;
+import com.automation.utils.LatencyHistogram;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IInvokedMethod;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splits each test's wall time into setup (@BeforeMethod), body, reporting (listener work:
+ * Extent logging, screenshots) and teardown (@AfterMethod). A test's phases all run on one
+ * thread, so the timing in progress is kept per thread and completed when the next test
+ * starts there, or at the end of the suite. The run is exported as
+ * test-output/metrics/run-summary-shard-N.json and, in Prometheus text format,
+ * run-summary-shard-N.prom, so the files of all shards can be collected side by side.
+ */
+class TestTimings {
+    private static final Logger logger = LogManager.getLogger(TestTimings.class);
+    private static final Path METRICS_DIR = Paths.get("test-output", "metrics");
+    private static final String[] PHASES = {"setup", "body", "reporting", "teardown"};
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    private static final Map<Thread, TestTiming> inProgress = new ConcurrentHashMap<>();
+    private static final ConcurrentLinkedQueue<TestTiming> completed = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<Long> phaseStart = new ThreadLocal<>();
+    private static volatile long suiteStart = System.currentTimeMillis();
+
+    private TestTimings() {
+    }
+
+    static void suiteStarted() {
+        suiteStart = System.currentTimeMillis();
+    }
+
+    static void beforeInvocation(IInvokedMethod method, ITestResult result) {
+        ITestNGMethod testMethod = method.getTestMethod();
+        if (method.isTestMethod() || testMethod.isBeforeMethodConfiguration()) {
+            TestTiming timing = inProgress.get(Thread.currentThread());
+            if (timing == null || timing.isDone()) {
+                startTest();
+            }
+            if (method.isTestMethod()) {
+                identify(result);
+            }
+        }
+        phaseStart.set(System.nanoTime());
+    }
+
+    static void afterInvocation(IInvokedMethod method) {
+        Long start = phaseStart.get();
+        TestTiming timing = inProgress.get(Thread.currentThread());
+        if (start == null || timing == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        ITestNGMethod testMethod = method.getTestMethod();
+        if (method.isTestMethod()) {
+            timing.phases[1] += elapsed;
+        } else if (testMethod.isBeforeMethodConfiguration()) {
+            timing.phases[0] += elapsed;
+        } else if (testMethod.isAfterMethodConfiguration()) {
+            timing.phases[3] += elapsed;
+        }
+    }
+
+    /**
+     * Adds listener time to the current test; the result may be null before the outcome is known.
+     */
+    static void reporting(ITestResult result, long nanos) {
+        TestTiming timing = inProgress.get(Thread.currentThread());
+        if (timing == null) {
+            timing = startTest();
+        }
+        if (result != null) {
+            identify(result);
+        }
+        timing.phases[2] += nanos;
+    }
+
+    static void identify(ITestResult result) {
+        TestTiming timing = inProgress.get(Thread.currentThread());
+        if (timing == null) {
+            return;
+        }
+        timing.testClass = result.getTestClass().getRealClass().getSimpleName();
+        timing.historyKey = DurationHistory.key(result.getTestClass().getRealClass().getName(), result.getMethod().getMethodName());
+        timing.method = result.getMethod().getMethodName();
+        String platform = result.getTestContext().getCurrentXmlTest().getParameter("platform");
+        timing.platform = platform != null ? platform.toLowerCase(Locale.ROOT) : "web";
+        timing.status = status(result.getStatus());
+    }
+
+    private static TestTiming startTest() {
+        TestTiming previous = inProgress.remove(Thread.currentThread());
+        if (previous != null) {
+            completed.add(previous);
+        }
+        TestTiming timing = new TestTiming(Thread.currentThread().getName());
+        inProgress.put(Thread.currentThread(), timing);
+        return timing;
+    }
+
+    /**
+     * Completes every test still in progress and writes the JSON and Prometheus summaries.
+     */
+    static void publish(String suiteName) {
+        completed.addAll(inProgress.values());
+        inProgress.clear();
+        List<TestTiming> tests = new ArrayList<>();
+        for (TestTiming timing : completed) {
+            if (timing.method != null) {
+                tests.add(timing);
+            }
+        }
+        completed.clear();
+        if (tests.isEmpty()) {
+            return;
+        }
+
+        Map<String, LatencyHistogram[]> byClass = new TreeMap<>();
+        Map<String, LatencyHistogram[]> byPlatform = new TreeMap<>();
+        Map<String, Integer> statusCounts = new TreeMap<>();
+        List<Map<String, Object>> rows = new ArrayList<>();
+        Map<String, Long> durations = new HashMap<>();
+        for (TestTiming timing : tests) {
+            record(byClass.computeIfAbsent(timing.testClass, ignored -> histograms()), timing);
+            record(byPlatform.computeIfAbsent(timing.platform, ignored -> histograms()), timing);
+            statusCounts.merge(timing.platform + "|" + timing.status, 1, Integer::sum);
+            rows.add(timing.toMap());
+            // Skipped tests did not run, so their time says nothing about the next run
+            if ("PASS".equals(timing.status) || "FAIL".equals(timing.status)) {
+                durations.merge(timing.historyKey, TimeUnit.NANOSECONDS.toMillis(timing.total()), Long::sum);
+            }
+        }
+        if (ConfigManager.isScheduleDurationAware()) {
+            DurationHistory.update(durations);
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("suite", suiteName);
+        summary.put("startedAt", Instant.ofEpochMilli(suiteStart).toString());
+        summary.put("wallMs", System.currentTimeMillis() - suiteStart);
+        summary.put("tests", rows);
+        summary.put("byClass", percentiles(byClass));
+        summary.put("byPlatform", percentiles(byPlatform));
+        try {
+            Files.createDirectories(METRICS_DIR);
+            String baseName = "run-summary-shard-" + ConfigManager.getShardIndex();
+            Path json = METRICS_DIR.resolve(baseName + ".json");
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(json.toFile(), summary);
+            Path prom = METRICS_DIR.resolve(baseName + ".prom");
+            writePrometheus(prom, byClass, byPlatform, statusCounts);
+            logger.info("Run timing summary for {} tests written to: {} and {}", tests.size(), json, prom);
+        } catch (IOException e) {
+            logger.error("Failed to write run timing summary", e);
+        }
+    }
+
+    private static LatencyHistogram[] histograms() {
+        LatencyHistogram[] histograms = new LatencyHistogram[PHASES.length + 1];
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        return histograms;
+    }
+
+    // One histogram per phase plus the total, in microseconds
+    private static void record(LatencyHistogram[] histograms, TestTiming timing) {
+        for (int i = 0; i < PHASES.length; i++) {
+            histograms[i].record(TimeUnit.NANOSECONDS.toMicros(timing.phases[i]));
+        }
+        histograms[PHASES.length].record(TimeUnit.NANOSECONDS.toMicros(timing.total()));
+    }
+
+    private static String phaseName(int index) {
+        return index < PHASES.length ? PHASES[index] : "total";
+    }
+
+    private static Map<String, Object> percentiles(Map<String, LatencyHistogram[]> groups) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        groups.forEach((group, histograms) -> {
+            Map<String, Object> phases = new LinkedHashMap<>();
+            for (int i = 0; i < histograms.length; i++) {
+                Map<String, Object> stats = new LinkedHashMap<>();
+                stats.put("count", histograms[i].getCount());
+                stats.put("p50Ms", millis(histograms[i].getValueAtPercentile(50)));
+                stats.put("p90Ms", millis(histograms[i].getValueAtPercentile(90)));
+                stats.put("p99Ms", millis(histograms[i].getValueAtPercentile(99)));
+                stats.put("maxMs", millis(histograms[i].getMax()));
+                phases.put(phaseName(i), stats);
+            }
+            result.put(group, phases);
+        });
+        return result;
+    }
+
+    private static void writePrometheus(Path file, Map<String, LatencyHistogram[]> byClass,
+                                        Map<String, LatencyHistogram[]> byPlatform, Map<String, Integer> statusCounts) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writeSummary(out, "automation_test_phase_seconds_by_class", "Test phase durations per test class", "class", byClass);
+            writeSummary(out, "automation_test_phase_seconds_by_platform", "Test phase durations per platform", "platform", byPlatform);
+            out.write("# HELP automation_tests_total Tests run, by platform and status\n");
+            out.write("# TYPE automation_tests_total counter\n");
+            for (Map.Entry<String, Integer> entry : statusCounts.entrySet()) {
+                String[] platformAndStatus = entry.getKey().split("\\|", 2);
+                out.write("automation_tests_total{platform=\"" + escape(platformAndStatus[0]) + "\",status=\""
+                        + platformAndStatus[1] + "\"} " + entry.getValue() + "\n");
+            }
+        }
+    }
+
+    private static void writeSummary(Writer out, String name, String help, String label,
+                                     Map<String, LatencyHistogram[]> groups) throws IOException {
+        out.write("# HELP " + name + " " + help + "\n");
+        out.write("# TYPE " + name + " summary\n");
+        for (Map.Entry<String, LatencyHistogram[]> group : groups.entrySet()) {
+            LatencyHistogram[] histograms = group.getValue();
+            for (int i = 0; i < histograms.length; i++) {
+                String labels = label + "=\"" + escape(group.getKey()) + "\",phase=\"" + phaseName(i) + "\"";
+                for (double quantile : QUANTILES) {
+                    out.write(name + "{" + labels + ",quantile=\"" + quantile + "\"} "
+                            + seconds(histograms[i].getValueAtPercentile(quantile * 100)) + "\n");
+                }
+                out.write(name + "_sum{" + labels + "} " + seconds(histograms[i].getTotal()) + "\n");
+                out.write(name + "_count{" + labels + "} " + histograms[i].getCount() + "\n");
+            }
+        }
+    }
+
+    private static String status(int status) {
+        switch (status) {
+            case ITestResult.SUCCESS:
+                return "PASS";
+            case ITestResult.FAILURE:
+                return "FAIL";
+            case ITestResult.SKIP:
+                return "SKIP";
+            default:
+                return "RUNNING";
+        }
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static String seconds(long micros) {
+        return String.format(Locale.ROOT, "%.6f", micros / 1_000_000.0);
+    }
+
+    private static class TestTiming {
+        // Nanoseconds per phase, indexed like PHASES
+        private final long[] phases = new long[PHASES.length];
+        private final String thread;
+        private String testClass;
+        private String historyKey;
+        private String method;
+        private String platform;
+        private String status;
+
+        private TestTiming(String thread) {
+            this.thread = thread;
+        }
+
+        // A setup or test invocation after this point belongs to the next test
+        private boolean isDone() {
+            return phases[1] > 0 || phases[3] > 0
+                    || "PASS".equals(status) || "FAIL".equals(status) || "SKIP".equals(status);
+        }
+
+        private long total() {
+            long total = 0;
+            for (long phase : phases) {
+                total += phase;
+            }
+            return total;
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("class", testClass);
+            map.put("method", method);
+            map.put("platform", platform);
+            map.put("thread", thread);
+            map.put("status", status);
+            for (int i = 0; i < PHASES.length; i++) {
+                map.put(PHASES[i] + "Ms", TimeUnit.NANOSECONDS.toMicros(phases[i]) / 1000.0);
+            }
+            map.put("totalMs", TimeUnit.NANOSECONDS.toMicros(total()) / 1000.0);
+            return map;
+        }
+    }
+}
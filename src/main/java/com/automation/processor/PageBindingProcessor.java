@@ -0,0 +1,317 @@
+package com.automation.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a {@code <Page>_Binding} class for every page object extending BasePage, assigning
+ * its WebElement fields from their @FindBy, @AndroidFindBy and @iOSXCUITFindBy locators without
+ * reflection or dynamic proxies. Private fields are set through a VarHandle looked up once per
+ * class. A page the binding cannot express (final fields, element lists, FindBys/FindAll chains,
+ * several locator attributes) gets no binding and keeps using PageFactory; a note names the
+ * field responsible.
+ * <p>
+ * Compiled in its own compiler execution before the rest of the sources (see pom.xml), so it
+ * only refers to framework and Selenium types by name.
+ */
+@SupportedAnnotationTypes("*")
+public class PageBindingProcessor extends AbstractProcessor {
+    private static final String BASE_PAGE = "com.automation.core.BasePage";
+    private static final String WEB_ELEMENT = "org.openqa.selenium.WebElement";
+    private static final String FIND_BY = "org.openqa.selenium.support.FindBy";
+    private static final String CACHE_LOOKUP = "org.openqa.selenium.support.CacheLookup";
+    private static final String ANDROID_FIND_BY = "io.appium.java_client.pagefactory.AndroidFindBy";
+    private static final String IOS_FIND_BY = "io.appium.java_client.pagefactory.iOSXCUITFindBy";
+    private static final String WAIT_PROFILE = "com.automation.core.WaitProfile";
+    private static final String BY = "org.openqa.selenium.By";
+    private static final String APPIUM_BY = "io.appium.java_client.AppiumBy";
+
+    private static final Map<String, String> WEB_STRATEGIES = new LinkedHashMap<>();
+    private static final Map<String, String> ANDROID_STRATEGIES = new LinkedHashMap<>();
+    private static final Map<String, String> IOS_STRATEGIES = new LinkedHashMap<>();
+
+    static {
+        WEB_STRATEGIES.put("id", BY + ".id");
+        WEB_STRATEGIES.put("name", BY + ".name");
+        WEB_STRATEGIES.put("className", BY + ".className");
+        WEB_STRATEGIES.put("css", BY + ".cssSelector");
+        WEB_STRATEGIES.put("tagName", BY + ".tagName");
+        WEB_STRATEGIES.put("linkText", BY + ".linkText");
+        WEB_STRATEGIES.put("partialLinkText", BY + ".partialLinkText");
+        WEB_STRATEGIES.put("xpath", BY + ".xpath");
+
+        // Same strategies Appium's own annotation parser uses
+        ANDROID_STRATEGIES.put("id", APPIUM_BY + ".id");
+        ANDROID_STRATEGIES.put("accessibility", APPIUM_BY + ".accessibilityId");
+        ANDROID_STRATEGIES.put("className", APPIUM_BY + ".className");
+        ANDROID_STRATEGIES.put("tagName", BY + ".tagName");
+        ANDROID_STRATEGIES.put("xpath", BY + ".xpath");
+        ANDROID_STRATEGIES.put("uiAutomator", APPIUM_BY + ".androidUIAutomator");
+
+        IOS_STRATEGIES.put("id", APPIUM_BY + ".id");
+        IOS_STRATEGIES.put("accessibility", APPIUM_BY + ".accessibilityId");
+        IOS_STRATEGIES.put("className", APPIUM_BY + ".className");
+        IOS_STRATEGIES.put("tagName", BY + ".tagName");
+        IOS_STRATEGIES.put("xpath", BY + ".xpath");
+        IOS_STRATEGIES.put("iOSClassChain", APPIUM_BY + ".iOSClassChain");
+        IOS_STRATEGIES.put("iOSNsPredicate", APPIUM_BY + ".iOSNsPredicateString");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Elements elements = processingEnv.getElementUtils();
+        Types types = processingEnv.getTypeUtils();
+        TypeElement basePage = elements.getTypeElement(BASE_PAGE);
+        TypeElement webElement = elements.getTypeElement(WEB_ELEMENT);
+        if (basePage == null || webElement == null) {
+            return false;
+        }
+        for (Element root : roundEnv.getRootElements()) {
+            if (root.getKind() != ElementKind.CLASS || root.equals(basePage)) {
+                continue;
+            }
+            TypeElement page = (TypeElement) root;
+            if (page.getNestingKind() == NestingKind.TOP_LEVEL && page.getTypeParameters().isEmpty()
+                    && types.isSubtype(page.asType(), basePage.asType())) {
+                generate(page, webElement.asType());
+            }
+        }
+        return false;
+    }
+
+    private void generate(TypeElement page, TypeMirror webElement) {
+        List<String> assignments = new ArrayList<>();
+        List<String> privateFields = new ArrayList<>();
+        for (Element member : page.getEnclosedElements()) {
+            if (member.getKind() != ElementKind.FIELD || member.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            try {
+                String element = element((VariableElement) member, webElement);
+                if (element == null) {
+                    continue;
+                }
+                String name = member.getSimpleName().toString();
+                if (member.getModifiers().contains(Modifier.PRIVATE)) {
+                    privateFields.add(name);
+                    assignments.add(handle(name) + ".set(page, " + element + ");");
+                } else {
+                    assignments.add("page." + name + " = " + element + ";");
+                }
+            } catch (UnsupportedFieldException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                        page.getSimpleName() + " uses PageFactory: " + e.getMessage(), member);
+                return;
+            }
+        }
+        write(page, assignments, privateFields);
+    }
+
+    // Expression creating the field's element, or null for fields PageFactory would not decorate either
+    private String element(VariableElement field, TypeMirror webElement) {
+        Types types = processingEnv.getTypeUtils();
+        String web = null;
+        String android = null;
+        String ios = null;
+        String waitProfile = null;
+        boolean locatorAnnotation = false;
+        for (AnnotationMirror annotation : field.getAnnotationMirrors()) {
+            String name = ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString();
+            Map<String, Object> values = values(annotation);
+            switch (name) {
+                case FIND_BY:
+                    web = findBy(field, values);
+                    locatorAnnotation = true;
+                    break;
+                case ANDROID_FIND_BY:
+                    android = mobileBy(field, values, ANDROID_STRATEGIES);
+                    locatorAnnotation = true;
+                    break;
+                case IOS_FIND_BY:
+                    ios = mobileBy(field, values, IOS_STRATEGIES);
+                    locatorAnnotation = true;
+                    break;
+                case WAIT_PROFILE:
+                    waitProfile = (String) values.get("value");
+                    break;
+                case CACHE_LOOKUP:
+                    break;
+                default:
+                    if (name.startsWith("org.openqa.selenium.support.") || name.startsWith("io.appium.java_client.pagefactory.")) {
+                        throw new UnsupportedFieldException("@" + annotation.getAnnotationType().asElement().getSimpleName()
+                                + " on " + field.getSimpleName());
+                    }
+            }
+        }
+
+        if (!types.isSameType(field.asType(), webElement)) {
+            if (locatorAnnotation) {
+                throw new UnsupportedFieldException(field.getSimpleName() + " is not a single WebElement");
+            }
+            return null;
+        }
+        if (field.getModifiers().contains(Modifier.FINAL)) {
+            throw new UnsupportedFieldException(field.getSimpleName() + " is final");
+        }
+        if (web == null && android == null && ios == null) {
+            // PageFactory's default for unannotated fields
+            web = "new org.openqa.selenium.support.ByIdOrName(" + literal(field.getSimpleName().toString()) + ")";
+        }
+        return "elements.element(" + literal(field.getSimpleName().toString())
+                + ", " + web + ", " + android + ", " + ios + ", " + (waitProfile != null ? literal(waitProfile) : "null") + ")";
+    }
+
+    private String findBy(VariableElement field, Map<String, Object> values) {
+        Object how = values.remove("how");
+        Object using = values.remove("using");
+        if (how != null && !"UNSET".equals(how.toString())) {
+            if (!values.isEmpty()) {
+                throw new UnsupportedFieldException("@FindBy on " + field.getSimpleName() + " sets both how and " + values.keySet());
+            }
+            return "org.openqa.selenium.support.How." + how + ".buildBy(" + literal(String.valueOf(using)) + ")";
+        }
+        return single(field, "@FindBy", values, WEB_STRATEGIES);
+    }
+
+    private String mobileBy(VariableElement field, Map<String, Object> values, Map<String, String> strategies) {
+        Object priority = values.remove("priority");
+        if (priority != null && !Integer.valueOf(0).equals(priority)) {
+            throw new UnsupportedFieldException(field.getSimpleName() + " uses a locator priority");
+        }
+        return single(field, "Mobile locator", values, strategies);
+    }
+
+    private String single(VariableElement field, String annotation, Map<String, Object> values, Map<String, String> strategies) {
+        if (values.size() != 1 || !strategies.containsKey(values.keySet().iterator().next())) {
+            throw new UnsupportedFieldException(annotation + " on " + field.getSimpleName() + " sets " + values.keySet());
+        }
+        Map.Entry<String, Object> value = values.entrySet().iterator().next();
+        return strategies.get(value.getKey()) + "(" + literal(value.getValue().toString()) + ")";
+    }
+
+    // Annotation attributes that are set, with defaults and empty strings dropped
+    private Map<String, Object> values(AnnotationMirror annotation) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+            Object value = entry.getValue().getValue();
+            if (value instanceof VariableElement) {
+                value = ((VariableElement) value).getSimpleName().toString();
+            }
+            if (!"".equals(value)) {
+                values.put(entry.getKey().getSimpleName().toString(), value);
+            }
+        }
+        return values;
+    }
+
+    private void write(TypeElement page, List<String> assignments, List<String> privateFields) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(page);
+        String pageName = page.getSimpleName().toString();
+        String bindingName = pageName + "_Binding";
+        String qualifiedName = pkg.isUnnamed() ? bindingName : pkg.getQualifiedName() + "." + bindingName;
+        try (Writer out = processingEnv.getFiler().createSourceFile(qualifiedName, page).openWriter()) {
+            if (!pkg.isUnnamed()) {
+                out.write("package " + pkg.getQualifiedName() + ";\n\n");
+            }
+            out.write("@javax.annotation.processing.Generated(\"" + PageBindingProcessor.class.getName() + "\")\n");
+            out.write("public final class " + bindingName + " implements com.automation.core.PageBinding<" + pageName + "> {\n");
+            if (!privateFields.isEmpty()) {
+                writeHandles(out, pageName, privateFields);
+            }
+            out.write("    @Override\n");
+            out.write("    public void bind(" + pageName + " page, com.automation.core.PageElements elements) {\n");
+            for (String assignment : assignments) {
+                out.write("        " + assignment + "\n");
+            }
+            out.write("    }\n");
+            out.write("}\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + qualifiedName, e);
+        }
+    }
+
+    // One VarHandle per private field; a failed lookup makes PageBindings fall back to PageFactory
+    private static void writeHandles(Writer out, String pageName, List<String> privateFields) throws IOException {
+        for (String field : privateFields) {
+            out.write("    private static final java.lang.invoke.VarHandle " + handle(field) + ";\n");
+        }
+        out.write("\n    static {\n");
+        out.write("        try {\n");
+        out.write("            java.lang.invoke.MethodHandles.Lookup lookup = java.lang.invoke.MethodHandles.privateLookupIn("
+                + pageName + ".class, java.lang.invoke.MethodHandles.lookup());\n");
+        for (String field : privateFields) {
+            out.write("            " + handle(field) + " = lookup.findVarHandle(" + pageName + ".class, " + literal(field) + ", "
+                    + WEB_ELEMENT + ".class);\n");
+        }
+        out.write("        } catch (ReflectiveOperationException e) {\n");
+        out.write("            throw new ExceptionInInitializerError(e);\n");
+        out.write("        }\n");
+        out.write("    }\n\n");
+    }
+
+    // Prefixed so a page field named like a local of bind(), e.g. page or elements, is not shadowed
+    private static String handle(String field) {
+        return "HANDLE_" + field;
+    }
+
+    private static String literal(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    literal.append("\\\"");
+                    break;
+                case '\\':
+                    literal.append("\\\\");
+                    break;
+                case '\n':
+                    literal.append("\\n");
+                    break;
+                case '\r':
+                    literal.append("\\r");
+                    break;
+                case '\t':
+                    literal.append("\\t");
+                    break;
+                default:
+                    literal.append(c);
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    private static class UnsupportedFieldException extends RuntimeException {
+        private UnsupportedFieldException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.automation.reports;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only JSONL log of report events, one compact JSON object per line. Each JVM (shard)
+ * writes its own file; {@link ReportMerger} combines them into a single paginated report.
+ * Only used from the report writer thread.
+ */
+class EventLog {
+    private static final Logger logger = LogManager.getLogger(EventLog.class);
+
+    static final String TYPE = "e";
+    static final String RUN = "run";
+    static final String INFO = "info";
+    static final String TEST_START = "start";
+    static final String STEP = "step";
+    static final String TEST_END = "end";
+
+    private final Path file;
+    private final BufferedWriter writer;
+    private final JsonGenerator generator;
+
+    EventLog(Path directory, String shard, String timestamp) {
+        this.file = directory.resolve("events_shard-" + shard + "_" + timestamp + ".jsonl");
+        try {
+            Files.createDirectories(directory);
+            writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            generator = new JsonFactory().createGenerator(writer);
+            generator.setRootValueSeparator(null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create report event log: " + file, e);
+        }
+        logger.info("Report event log: {}", file);
+        run(shard);
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    private void run(String shard) {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            host = "unknown";
+        }
+        write(RUN, null, System.currentTimeMillis(), "shard", shard, "host", host);
+    }
+
+    void info(String key, String value) {
+        write(INFO, null, System.currentTimeMillis(), "key", key, "value", value);
+    }
+
+    void testStarted(long id, long timestamp, String name, String description, String thread) {
+        write(TEST_START, id, timestamp, "name", name, "desc", description, "thread", thread);
+    }
+
+    void step(long id, long timestamp, String status, String kind, String message) {
+        write(STEP, id, timestamp, "status", status, "kind", kind, "msg", message);
+    }
+
+    void testEnded(long id, long timestamp, String status) {
+        write(TEST_END, id, timestamp, "status", status);
+    }
+
+    void flush() {
+        try {
+            generator.flush();
+        } catch (IOException e) {
+            logger.warn("Failed to flush report event log: {}", file, e);
+        }
+    }
+
+    private void write(String type, Long id, long timestamp, String... fields) {
+        try {
+            generator.writeStartObject();
+            generator.writeStringField(TYPE, type);
+            if (id != null) {
+                generator.writeNumberField("id", id);
+            }
+            generator.writeNumberField("t", timestamp);
+            for (int i = 0; i < fields.length; i += 2) {
+                if (fields[i + 1] != null) {
+                    generator.writeStringField(fields[i], fields[i + 1]);
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            logger.warn("Failed to write report event to: {}", file, e);
+        }
+    }
+}
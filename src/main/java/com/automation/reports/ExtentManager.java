@@ -1,64 +1,132 @@
 package com.automation.reports;
 
+import com.automation.utils.ConfigManager;
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.File;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
+/**
+ * Extent reporting facade. Calls from test threads are queued and applied by a single
+ * {@link ReportWriter} thread, so logging never blocks on the report model or HTML render.
+ * The same events are appended to a per-shard {@link EventLog} for {@link ReportMerger}.
+ */
 public class ExtentManager {
     private static final Logger logger = LogManager.getLogger(ExtentManager.class);
-    private static ExtentReports extent;
-    private static ThreadLocal<ExtentTest> test = new ThreadLocal<>();
+    private static volatile ExtentReports extent;
+    private static volatile ReportWriter writer;
+    private static volatile EventLog eventLog;
+    private static final ThreadLocal<TestHandle> test = new ThreadLocal<>();
+    private static final AtomicLong testIds = new AtomicLong();
     private static String reportPath;
 
-    public static ExtentReports createInstance() {
+    public static synchronized ExtentReports createInstance() {
         if (extent == null) {
             String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
-            reportPath = "test-output/ExtentReport_" + timestamp + ".html";
-            
+            reportPath = "test-output/ExtentReport_shard-" + ConfigManager.getShardIndex() + "_" + timestamp + ".html";
+
             ExtentSparkReporter sparkReporter = new ExtentSparkReporter(reportPath);
-            
+
             // Configuration
             sparkReporter.config().setDocumentTitle("Automation Test Report");
             sparkReporter.config().setReportName("Test Execution Report");
             sparkReporter.config().setTheme(Theme.STANDARD);
             sparkReporter.config().setTimeStampFormat("MMM dd, yyyy HH:mm:ss");
-            
-            extent = new ExtentReports();
-            extent.attachReporter(sparkReporter);
-            
+
+            ExtentReports reports = new ExtentReports();
+            reports.attachReporter(sparkReporter);
+
             // System Information
-            extent.setSystemInfo("OS", System.getProperty("os.name"));
-            extent.setSystemInfo("Java Version", System.getProperty("java.version"));
-            extent.setSystemInfo("User", System.getProperty("user.name"));
-            extent.setSystemInfo("Environment", "QA");
-            
+            reports.setSystemInfo("OS", System.getProperty("os.name"));
+            reports.setSystemInfo("Java Version", System.getProperty("java.version"));
+            reports.setSystemInfo("User", System.getProperty("user.name"));
+            reports.setSystemInfo("Environment", ConfigManager.getEnvironment().toUpperCase());
+
+            if (ConfigManager.isReportEventLogEnabled()) {
+                eventLog = new EventLog(Paths.get(ConfigManager.getReportEventsDir()),
+                        String.valueOf(ConfigManager.getShardIndex()), timestamp);
+            }
+            writer = new ReportWriter(reports, ConfigManager.getReportFlushIntervalSeconds());
+            extent = reports;
+            Runtime.getRuntime().addShutdownHook(new Thread(ExtentManager::flush, "extent-report-shutdown"));
+
             logger.info("Extent Report initialized at: {}", reportPath);
         }
         return extent;
     }
 
-    public static ExtentTest createTest(String testName, String description) {
-        ExtentTest extentTest = extent.createTest(testName, description);
-        test.set(extentTest);
+    /**
+     * Queues creation of a test node and binds it to the calling thread. Subsequent log
+     * calls from this thread are applied to that node in order.
+     */
+    public static void createTest(String testName, String description) {
+        ReportWriter current = writer;
+        if (current == null) {
+            return;
+        }
+        TestHandle handle = new TestHandle(testIds.incrementAndGet());
+        test.set(handle);
+        long timestamp = System.currentTimeMillis();
+        String thread = Thread.currentThread().getName();
+        current.submit(() -> {
+            try {
+                if (eventLog != null) {
+                    eventLog.testStarted(handle.id, timestamp, testName, description, thread);
+                }
+                handle.bind(extent.createTest(testName, description));
+            } finally {
+                handle.created.complete(handle.extentTest);
+            }
+        });
         logger.debug("Created test: {}", testName);
-        return extentTest;
     }
 
+    /**
+     * Returns the current thread's test node, waiting for the writer to create it.
+     * Prefer the static log methods, which do not wait.
+     */
     public static ExtentTest getTest() {
-        return test.get();
+        TestHandle handle = test.get();
+        return handle != null ? handle.created.join() : null;
+    }
+
+    /**
+     * Records the final status of the current test and detaches it from this thread;
+     * queued events for it are still applied.
+     */
+    public static void endTest(Status status) {
+        TestHandle handle = test.get();
+        ReportWriter current = writer;
+        if (handle != null && current != null && eventLog != null) {
+            long timestamp = System.currentTimeMillis();
+            current.submit(() -> eventLog.testEnded(handle.id, timestamp, status.toString()));
+        }
+        test.remove();
     }
 
     public static void log(Status status, String message) {
-        if (test.get() != null) {
-            test.get().log(status, message);
+        submit(extentTest -> extentTest.log(status, message), status, "log", message);
+    }
+
+    public static void log(Status status, Throwable throwable) {
+        if (throwable != null) {
+            StringWriter stackTrace = new StringWriter();
+            throwable.printStackTrace(new PrintWriter(stackTrace));
+            submit(extentTest -> extentTest.log(status, throwable), status, "exception", stackTrace.toString());
         }
     }
 
@@ -82,24 +150,110 @@ public class ExtentManager {
         log(Status.SKIP, message);
     }
 
+    public static void logTable(Status status, String[][] data) {
+        StringBuilder table = new StringBuilder();
+        for (String[] row : data) {
+            table.append(String.join(" | ", row)).append('\n');
+        }
+        submit(extentTest -> extentTest.log(status, MarkupHelper.createTable(data)), status, "table", table.toString());
+    }
+
     public static void addScreenshot(String screenshotPath) {
-        if (test.get() != null) {
-            try {
-                test.get().addScreenCaptureFromPath(screenshotPath);
-            } catch (Exception e) {
-                logger.error("Failed to attach screenshot", e);
-            }
+        ReportWriter current = writer;
+        TestHandle handle = test.get();
+        if (handle != null && current != null) {
+            current.submit(screenshotEvent(handle, screenshotPath));
+        }
+    }
+
+    /**
+     * Attaches a screenshot that is still being written to the current test. The attachment
+     * is queued from the screenshot writer thread once the file exists.
+     */
+    public static void addScreenshot(CompletableFuture<Path> screenshot) {
+        ReportWriter current = writer;
+        TestHandle handle = test.get();
+        if (handle != null && current != null) {
+            screenshot.thenAccept(path -> {
+                if (path != null) {
+                    current.submit(screenshotEvent(handle, path.toString()));
+                }
+            });
+        }
+    }
+
+    public static void setSystemInfo(String key, String value) {
+        ReportWriter current = writer;
+        if (current != null) {
+            current.submit(() -> {
+                extent.setSystemInfo(key, value);
+                if (eventLog != null) {
+                    eventLog.info(key, value);
+                }
+            });
         }
     }
 
+    // Applies all queued events and renders the HTML report, waiting until it is written
     public static void flush() {
-        if (extent != null) {
-            extent.flush();
-            logger.info("Extent Report flushed");
+        ReportWriter current = writer;
+        if (current != null) {
+            if (eventLog != null) {
+                current.submit(eventLog::flush);
+            }
+            current.flushAndWait();
         }
     }
 
     public static String getReportPath() {
         return reportPath;
     }
+
+    private static void submit(Consumer<ExtentTest> event, Status status, String kind, String message) {
+        TestHandle handle = test.get();
+        ReportWriter current = writer;
+        if (handle != null && current != null) {
+            current.submit(stepEvent(handle, event, status, kind, message));
+        }
+    }
+
+    private static Runnable stepEvent(TestHandle handle, Consumer<ExtentTest> event, Status status, String kind, String message) {
+        long timestamp = System.currentTimeMillis();
+        return () -> {
+            if (eventLog != null) {
+                eventLog.step(handle.id, timestamp, status.toString(), kind, message);
+            }
+            if (handle.extentTest != null) {
+                event.accept(handle.extentTest);
+            }
+        };
+    }
+
+    private static Runnable screenshotEvent(TestHandle handle, String screenshotPath) {
+        return stepEvent(handle, extentTest -> {
+            try {
+                extentTest.addScreenCaptureFromPath(screenshotPath);
+            } catch (Exception e) {
+                logger.error("Failed to attach screenshot", e);
+            }
+        }, Status.INFO, "screenshot", screenshotPath);
+    }
+
+    /**
+     * Test node created asynchronously by the writer thread.
+     */
+    private static class TestHandle {
+        private final long id;
+        private final CompletableFuture<ExtentTest> created = new CompletableFuture<>();
+        private volatile ExtentTest extentTest;
+
+        private TestHandle(long id) {
+            this.id = id;
+        }
+
+        private void bind(ExtentTest extentTest) {
+            this.extentTest = extentTest;
+            created.complete(extentTest);
+        }
+    }
 }
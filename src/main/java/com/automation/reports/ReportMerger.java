@@ -0,0 +1,409 @@
+package com.automation.reports;
+
+import com.automation.utils.ConfigManager;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Merges the per-shard JSONL event logs written by {@link EventLog} into one paginated HTML
+ * report. Shards are streamed twice: the first pass keeps only a small summary per test, the
+ * second spools step events to one file per page, so at most one page of steps is in memory.
+ *
+ * <pre>mvn exec:java@merge-reports [-Dexec.args="eventsDir outputDir"]</pre>
+ */
+public class ReportMerger {
+    private static final Logger logger = LogManager.getLogger(ReportMerger.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final int MAX_OPEN_SPOOLS = 32;
+    // EventLog writes the type first, so step lines can be recognised without parsing
+    private static final String STEP_PREFIX = "{\"" + EventLog.TYPE + "\":\"" + EventLog.STEP + "\"";
+
+    private final Path eventsDir;
+    private final Path outputDir;
+    private final int pageSize;
+    private final List<Shard> shards = new ArrayList<>();
+    private final Map<String, TestSummary> tests = new HashMap<>();
+
+    public ReportMerger(Path eventsDir, Path outputDir, int pageSize) {
+        this.eventsDir = eventsDir;
+        this.outputDir = outputDir;
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    public static void main(String[] args) {
+        Path eventsDir = Paths.get(args.length > 0 ? args[0] : ConfigManager.getReportEventsDir());
+        Path outputDir = Paths.get(args.length > 1 ? args[1] : ConfigManager.getMergedReportDir());
+        Path index = new ReportMerger(eventsDir, outputDir, ConfigManager.getReportPageSize()).merge();
+        logger.info("Merged report written to: {}", index);
+    }
+
+    /**
+     * Merges every *.jsonl file in the events directory and returns the report index page.
+     */
+    public Path merge() {
+        try {
+            Files.createDirectories(outputDir);
+            List<Path> files = new ArrayList<>();
+            if (Files.isDirectory(eventsDir)) {
+                try (Stream<Path> listing = Files.list(eventsDir)) {
+                    files = listing.filter(path -> path.toString().endsWith(".jsonl")).sorted().collect(Collectors.toList());
+                }
+            } else {
+                logger.warn("No report event logs found in: {}", eventsDir);
+            }
+            for (int i = 0; i < files.size(); i++) {
+                summarize(i, files.get(i));
+            }
+
+            List<TestSummary> ordered = new ArrayList<>(tests.values());
+            ordered.sort(Comparator.comparingLong((TestSummary summary) -> summary.start).thenComparing(summary -> summary.key));
+            int pages = Math.max(1, (ordered.size() + pageSize - 1) / pageSize);
+            List<List<TestSummary>> pageTests = new ArrayList<>();
+            for (int page = 0; page < pages; page++) {
+                List<TestSummary> slice = ordered.subList(page * pageSize, Math.min(ordered.size(), (page + 1) * pageSize));
+                slice.forEach(summary -> summary.page = pageTests.size());
+                pageTests.add(slice);
+            }
+
+            Path spoolDir = Files.createTempDirectory(outputDir, ".spool");
+            spoolSteps(files, spoolDir);
+            for (int page = 0; page < pages; page++) {
+                writePage(page, pages, pageTests.get(page), spoolDir.resolve(page + ".jsonl"));
+            }
+            try (Stream<Path> spools = Files.list(spoolDir)) {
+                for (Path spool : (Iterable<Path>) spools::iterator) {
+                    Files.delete(spool);
+                }
+            }
+            Files.delete(spoolDir);
+
+            logger.info("Merged {} tests from {} shard logs into {} pages", ordered.size(), files.size(), pages);
+            return writeIndex(ordered, pageTests);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to merge report event logs from: " + eventsDir, e);
+        }
+    }
+
+    // First pass: run metadata and one summary per test, no steps
+    private void summarize(int fileIndex, Path file) throws IOException {
+        Shard shard = new Shard(file.getFileName().toString());
+        shards.add(shard);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(STEP_PREFIX)) {
+                    continue;
+                }
+                JsonNode event = parse(line, file);
+                if (event == null) {
+                    continue;
+                }
+                String type = event.path(EventLog.TYPE).asText();
+                if (EventLog.RUN.equals(type)) {
+                    shard.name = event.path("shard").asText();
+                    shard.host = event.path("host").asText();
+                    shard.started = event.path("t").asLong();
+                } else if (EventLog.INFO.equals(type)) {
+                    shard.info.put(event.path("key").asText(), event.path("value").asText());
+                } else if (EventLog.TEST_START.equals(type)) {
+                    TestSummary summary = new TestSummary(fileIndex + ":" + event.path("id").asLong());
+                    summary.shard = shard;
+                    summary.name = event.path("name").asText();
+                    summary.description = event.path("desc").asText("");
+                    summary.thread = event.path("thread").asText("");
+                    summary.start = event.path("t").asLong();
+                    summary.end = summary.start;
+                    tests.put(summary.key, summary);
+                    shard.tests++;
+                } else if (EventLog.TEST_END.equals(type)) {
+                    TestSummary summary = tests.get(fileIndex + ":" + event.path("id").asLong());
+                    if (summary != null) {
+                        summary.end = event.path("t").asLong();
+                        summary.status = event.path("status").asText();
+                    }
+                }
+            }
+        }
+    }
+
+    // Second pass: copy each step line to the spool file of the page its test is on
+    private void spoolSteps(List<Path> files, Path spoolDir) throws IOException {
+        Map<Integer, Writer> spools = new LinkedHashMap<Integer, Writer>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Writer> eldest) {
+                if (size() > MAX_OPEN_SPOOLS) {
+                    close(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+        try {
+            for (int i = 0; i < files.size(); i++) {
+                try (BufferedReader reader = Files.newBufferedReader(files.get(i), StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (!line.startsWith(STEP_PREFIX)) {
+                            continue;
+                        }
+                        JsonNode event = parse(line, files.get(i));
+                        if (event == null || !EventLog.STEP.equals(event.path(EventLog.TYPE).asText())) {
+                            continue;
+                        }
+                        String key = i + ":" + event.path("id").asLong();
+                        TestSummary summary = tests.get(key);
+                        if (summary == null) {
+                            continue;
+                        }
+                        summary.steps++;
+                        Writer spool = spools.get(summary.page);
+                        if (spool == null) {
+                            spool = Files.newBufferedWriter(spoolDir.resolve(summary.page + ".jsonl"), StandardCharsets.UTF_8,
+                                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                            spools.put(summary.page, spool);
+                        }
+                        spool.write(key);
+                        spool.write('\t');
+                        spool.write(line);
+                        spool.write('\n');
+                    }
+                }
+            }
+        } finally {
+            spools.values().forEach(ReportMerger::close);
+        }
+    }
+
+    private void writePage(int page, int pages, List<TestSummary> pageTests, Path spool) throws IOException {
+        Map<String, List<JsonNode>> steps = new HashMap<>();
+        if (Files.exists(spool)) {
+            try (BufferedReader reader = Files.newBufferedReader(spool, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int tab = line.indexOf('\t');
+                    steps.computeIfAbsent(line.substring(0, tab), key -> new ArrayList<>())
+                            .add(mapper.readTree(line.substring(tab + 1)));
+                }
+            }
+        }
+
+        try (Writer out = Files.newBufferedWriter(outputDir.resolve(pageName(page)), StandardCharsets.UTF_8)) {
+            header(out, "Tests - page " + (page + 1) + " of " + pages);
+            out.write(navigation(page, pages));
+            for (TestSummary summary : pageTests) {
+                out.write("<details id=\"t" + escape(summary.key.replace(':', '-')) + "\"><summary>");
+                out.write(badge(summary.status));
+                out.write(" <b>" + escape(summary.name) + "</b> <span class=\"muted\">shard " + escape(summary.shard.name)
+                        + " &middot; " + escape(summary.thread) + " &middot; " + summary.steps + " steps &middot; " + (summary.end - summary.start) + " ms</span>");
+                out.write("</summary>");
+                if (!summary.description.isEmpty()) {
+                    out.write("<p>" + escape(summary.description) + "</p>");
+                }
+                out.write("<table>");
+                for (JsonNode step : steps.getOrDefault(summary.key, List.of())) {
+                    out.write("<tr><td class=\"muted\">" + time(step.path("t").asLong()) + "</td><td>"
+                            + badge(step.path("status").asText()) + "</td><td>" + stepBody(step) + "</td></tr>");
+                }
+                out.write("</table></details>\n");
+            }
+            out.write(navigation(page, pages));
+            out.write("</body></html>\n");
+        }
+    }
+
+    private Path writeIndex(List<TestSummary> ordered, List<List<TestSummary>> pageTests) throws IOException {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        long first = Long.MAX_VALUE;
+        long last = 0;
+        for (TestSummary summary : ordered) {
+            counts.merge(summary.status, 1, Integer::sum);
+            first = Math.min(first, summary.start);
+            last = Math.max(last, summary.end);
+        }
+
+        Path index = outputDir.resolve("index.html");
+        try (Writer out = Files.newBufferedWriter(index, StandardCharsets.UTF_8)) {
+            header(out, "Merged Test Report");
+            out.write("<p>" + ordered.size() + " tests");
+            for (Map.Entry<String, Integer> count : counts.entrySet()) {
+                out.write(" &middot; " + badge(count.getKey()) + " " + count.getValue());
+            }
+            if (!ordered.isEmpty()) {
+                out.write(" &middot; wall time " + ((last - first) / 1000) + " s");
+            }
+            out.write("</p>\n<h2>Shards</h2><table><tr><th>Shard</th><th>Host</th><th>Started</th><th>Tests</th><th>Info</th></tr>");
+            for (Shard shard : shards) {
+                out.write("<tr><td>" + escape(shard.name) + "</td><td>" + escape(shard.host) + "</td><td>" + time(shard.started)
+                        + "</td><td>" + shard.tests + "</td><td>");
+                for (Map.Entry<String, String> info : shard.info.entrySet()) {
+                    out.write(escape(info.getKey()) + ": " + escape(info.getValue()) + "<br>");
+                }
+                out.write("</td></tr>");
+            }
+            out.write("</table>\n<h2>Failures</h2><ul>");
+            for (TestSummary summary : ordered) {
+                if ("fail".equalsIgnoreCase(summary.status)) {
+                    out.write("<li><a href=\"" + pageName(summary.page) + "#t" + escape(summary.key.replace(':', '-')) + "\">"
+                            + escape(summary.name) + "</a> <span class=\"muted\">shard " + escape(summary.shard.name) + "</span></li>");
+                }
+            }
+            out.write("</ul>\n<h2>Pages</h2><table><tr><th>Page</th><th>Tests</th><th>Failed</th></tr>");
+            for (int page = 0; page < pageTests.size(); page++) {
+                long failed = pageTests.get(page).stream().filter(summary -> "fail".equalsIgnoreCase(summary.status)).count();
+                out.write("<tr><td><a href=\"" + pageName(page) + "\">Page " + (page + 1) + "</a></td><td>"
+                        + pageTests.get(page).size() + "</td><td>" + failed + "</td></tr>");
+            }
+            out.write("</table></body></html>\n");
+        }
+        return index;
+    }
+
+    private String stepBody(JsonNode step) {
+        String kind = step.path("kind").asText();
+        String message = step.path("msg").asText();
+        if ("screenshot".equals(kind)) {
+            return "<a href=\"" + escape(linkFromOutputDir(message)) + "\">screenshot</a>";
+        }
+        if ("exception".equals(kind) || "table".equals(kind)) {
+            return "<pre>" + escape(message) + "</pre>";
+        }
+        return escape(message);
+    }
+
+    // Screenshot paths are recorded relative to the working directory, but the pages live in outputDir
+    private String linkFromOutputDir(String screenshotPath) {
+        if (screenshotPath.contains("://")) {
+            return screenshotPath;
+        }
+        try {
+            Path target = Paths.get(screenshotPath).toAbsolutePath().normalize();
+            return outputDir.toAbsolutePath().normalize().relativize(target).toString().replace('\\', '/');
+        } catch (IllegalArgumentException e) {
+            return screenshotPath;
+        }
+    }
+
+    private static void header(Writer out, String title) throws IOException {
+        out.write("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>" + escape(title) + "</title><style>"
+                + "body{font-family:sans-serif;margin:2em}table{border-collapse:collapse}td,th{padding:2px 8px;text-align:left;vertical-align:top}"
+                + "details{border-bottom:1px solid #ddd;padding:4px 0}pre{margin:0;white-space:pre-wrap}.muted{color:#777}"
+                + ".badge{display:inline-block;min-width:4em;text-align:center;border-radius:3px;color:#fff;font-size:.8em}"
+                + ".PASS{background:#2e7d32}.FAIL{background:#c62828}.SKIP{background:#f9a825}.WARNING{background:#ef6c00}"
+                + ".INFO{background:#1565c0}.UNKNOWN{background:#777}</style></head><body><h1>" + escape(title) + "</h1>\n");
+    }
+
+    private static String navigation(int page, int pages) {
+        StringBuilder nav = new StringBuilder("<p><a href=\"index.html\">Index</a>");
+        if (page > 0) {
+            nav.append(" &middot; <a href=\"").append(pageName(page - 1)).append("\">Previous</a>");
+        }
+        if (page < pages - 1) {
+            nav.append(" &middot; <a href=\"").append(pageName(page + 1)).append("\">Next</a>");
+        }
+        return nav.append("</p>\n").toString();
+    }
+
+    private static String pageName(int page) {
+        return "page-" + (page + 1) + ".html";
+    }
+
+    private static String badge(String status) {
+        String name = status == null || status.isEmpty() ? "UNKNOWN" : status.toUpperCase();
+        return "<span class=\"badge " + escape(name) + "\">" + escape(name) + "</span>";
+    }
+
+    private static String time(long timestamp) {
+        return timestamp > 0 ? new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").format(new Date(timestamp)) : "";
+    }
+
+    private static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<': escaped.append("&lt;"); break;
+                case '>': escaped.append("&gt;"); break;
+                case '&': escaped.append("&amp;"); break;
+                case '"': escaped.append("&quot;"); break;
+                default: escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static JsonNode parse(String line, Path file) {
+        if (line.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return mapper.readTree(line);
+        } catch (IOException e) {
+            // A shard killed mid-write leaves a truncated last line
+            logger.warn("Skipping unreadable event in {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private static void close(Writer writer) {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close report spool file", e);
+        }
+    }
+
+    private static class Shard {
+        private final Map<String, String> info = new LinkedHashMap<>();
+        private String name;
+        private String host = "";
+        private long started;
+        private int tests;
+
+        private Shard(String fileName) {
+            this.name = fileName;
+        }
+    }
+
+    private static class TestSummary {
+        private final String key;
+        private Shard shard;
+        private String name;
+        private String description;
+        private String thread;
+        private String status = "UNKNOWN";
+        private long start;
+        private long end;
+        private int page;
+        private int steps;
+
+        private TestSummary(String key) {
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.automation.reports;
+
+import com.aventstack.extentreports.ExtentReports;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Single background thread that owns the ExtentReports instance. Test threads only
+ * enqueue events on a lock-free queue; the writer applies them in order and renders
+ * the HTML report on demand or on a fixed interval.
+ */
+class ReportWriter implements Runnable {
+    private static final Logger logger = LogManager.getLogger(ReportWriter.class);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FLUSH_TIMEOUT_SECONDS = 120;
+
+    private final ExtentReports extent;
+    private final long flushIntervalNanos;
+    private final ConcurrentLinkedQueue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean parked = new AtomicBoolean();
+    private final Thread thread;
+    private volatile boolean dirty;
+
+    ReportWriter(ExtentReports extent, long flushIntervalSeconds) {
+        this.extent = extent;
+        this.flushIntervalNanos = TimeUnit.SECONDS.toNanos(flushIntervalSeconds);
+        this.thread = new Thread(this, "extent-report-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    void submit(Runnable event) {
+        queue.offer(event);
+        if (parked.get()) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    // Applies every queued event, renders the report if anything changed and waits for it
+    void flushAndWait() {
+        FlushRequest request = new FlushRequest();
+        submit(request);
+        try {
+            request.done.get(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            logger.error("Timed out waiting for the Extent report to be written", e);
+        }
+    }
+
+    @Override
+    public void run() {
+        long lastFlush = System.nanoTime();
+        while (true) {
+            Runnable event = queue.poll();
+            if (event != null) {
+                try {
+                    dirty |= !(event instanceof FlushRequest);
+                    event.run();
+                } catch (Exception e) {
+                    logger.error("Failed to apply report event", e);
+                }
+                continue;
+            }
+
+            if (dirty && flushIntervalNanos > 0 && System.nanoTime() - lastFlush >= flushIntervalNanos) {
+                render();
+                lastFlush = System.nanoTime();
+            }
+            parked.set(true);
+            if (queue.isEmpty()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            parked.set(false);
+        }
+    }
+
+    private void render() {
+        extent.flush();
+        dirty = false;
+        logger.info("Extent Report flushed");
+    }
+
+    private class FlushRequest implements Runnable {
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        @Override
+        public void run() {
+            try {
+                if (dirty) {
+                    render();
+                }
+            } finally {
+                done.complete(null);
+            }
+        }
+    }
+}
@@ -3,32 +3,139 @@ package com.automation.utils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.FileInputStream;
-import java.io.IOException;
-import java.util.Properties;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
+/**
+ * Framework configuration, loaded once from the classpath and layered as described in
+ * {@link ConfigSource}. Typed values are parsed and validated when the class is initialized,
+ * so an invalid setting fails the run immediately and the getters only read final fields.
+ */
 public class ConfigManager {
     private static final Logger logger = LogManager.getLogger(ConfigManager.class);
-    private static Properties properties;
-    private static final String CONFIG_FILE = "src/test/resources/config.properties";
+    private static final ConfigSource config = ConfigSource.load();
 
-    static {
-        loadProperties();
-    }
+    // Web Configuration
+    private static final String webUrl = config.getUrl("web.url", null);
+    private static final String browser = config.getString("browser", "chrome");
+
+    // Driver Pool Configuration
+    private static final boolean driverPoolEnabled = config.getBoolean("driver.pool.enabled", false);
+    private static final int driverPoolMinSize = config.getInt("driver.pool.min.size", 0, 0);
+    private static final int driverPoolMaxSize = config.getInt("driver.pool.max.size", 3, 1);
+    private static final int driverPoolLeaseTimeout = config.getInt("driver.pool.lease.timeout", 120, 1);
+
+    // Driver Binary Cache Configuration
+    private static final String driverCacheManifest = config.getString("driver.cache.manifest",
+            System.getProperty("user.home") + "/.cache/unified-test-framework/driver-manifest.properties");
+    private static final int driverCacheTtlHours = config.getInt("driver.cache.ttl.hours", 24, 0);
+
+    // Mobile Configuration
+    private static final String appiumServerUrl = config.getUrl("appium.server.url", "http://127.0.0.1:4723");
+    private static final String androidAppPath = config.getString("android.app.path", null);
+    private static final String iosAppPath = config.getString("ios.app.path", null);
+    private static final String androidDeviceName = config.getString("android.device.name", null);
+    private static final String iosDeviceName = config.getString("ios.device.name", null);
+
+    // API Configuration
+    private static final String apiBaseUrl = config.getUrl("api.base.url", null);
+    private static final String apiKey = config.getString("api.key", null);
+    private static final int apiPoolMaxTotal = config.getInt("api.pool.max.total", 50, 1);
+    private static final int apiPoolMaxPerRoute = config.getInt("api.pool.max.per.route", 20, 1);
+    private static final int apiConnectTimeoutMillis = config.getInt("api.connect.timeout.ms", 5000, 0);
+    private static final int apiReadTimeoutMillis = config.getInt("api.read.timeout.ms", 30000, 0);
+    private static final int apiKeepAliveMillis = config.getInt("api.keepalive.ms", 60000, 0);
+    private static final int apiAsyncThreads = config.getInt("api.async.threads", 16, 1);
+    private static final int apiBatchMaxConcurrency = config.getInt("api.batch.max.concurrency", 10, 1);
+    private static final int apiLogBodyMaxBytes = config.getInt("api.log.body.max.bytes", 4096, 0);
+    private static final int apiLogBodySampleRate = config.getInt("api.log.body.sample.rate", 1, 1);
+    private static final boolean apiBodiesOnFailure = config.getBoolean("api.log.body.on.failure", true);
+    private static final boolean apiCacheEnabled = config.getBoolean("api.cache.enabled", false);
+    private static final long apiCacheMaxBytes = config.getLong("api.cache.max.bytes", 67108864L, 0);
+    private static final int apiCacheTtlSeconds = config.getInt("api.cache.ttl.seconds", 600, 0);
+    private static final String apiTrafficMode = config.getChoice("api.traffic.mode", "live", "live", "record", "replay");
+    private static final String apiCassetteFile = config.getString("api.cassette.file", "src/test/resources/cassettes/api-traffic.jsonl");
+    private static final long apiReplayLatencyMillis = config.getLong("api.replay.latency.ms", 0, 0);
+
+    // Load Test Configuration
+    private static final boolean loadModeEnabled = config.getBoolean("load.mode", false);
+    private static final int loadRps = config.getInt("load.rps", 0, 0);
+    private static final int loadConcurrency = config.getInt("load.concurrency", 10, 1);
+    private static final int loadDurationSeconds = config.getInt("load.duration.seconds", 30, 1);
 
-    private static void loadProperties() {
-        properties = new Properties();
-        try (FileInputStream fis = new FileInputStream(CONFIG_FILE)) {
-            properties.load(fis);
-            logger.info("Configuration loaded successfully from {}", CONFIG_FILE);
-        } catch (IOException e) {
-            logger.error("Failed to load configuration file: {}", CONFIG_FILE, e);
-            throw new RuntimeException("Configuration file not found", e);
+    // Test Configuration
+    private static final Duration implicitWait = config.getSeconds("implicit.wait", 10);
+    private static final Duration explicitWait = config.getSeconds("explicit.wait", 15);
+    private static final boolean screenshotOnFailure = config.getBoolean("screenshot.on.failure", true);
+    private static final double screenshotScale = config.getDouble("screenshot.scale", 1.0, 0.01, 1.0);
+    private static final String screenshotFormat = config.getChoice("screenshot.format", "png", "png", "jpg", "jpeg");
+    private static final float screenshotJpegQuality = (float) config.getDouble("screenshot.jpeg.quality", 0.8, 0.0, 1.0);
+    private static final int screenshotWriterThreads = config.getInt("screenshot.writer.threads", 2, 1);
+    private static final int screenshotQueueCapacity = config.getInt("screenshot.queue.capacity", 16, 1);
+    private static final int screenshotDedupeDistance = config.getInt("screenshot.dedupe.distance", -1, -1);
+    private static final int screenshotStoreMaxMb = config.getInt("screenshot.store.max.mb", 512, 0);
+
+    // Wait Configuration
+    private static final boolean zeroImplicitWait = config.getBoolean("wait.zero.implicit", true);
+    private static final String waitStrategy = config.getChoice("wait.strategy", "poll", "poll", "dom-events");
+    private static final long waitPollInitialMillis = config.getLong("wait.poll.initial.ms", 10, 1);
+    private static final long waitPollMaxMillis = config.getLong("wait.poll.max.ms", 250, 1);
+    private static final double waitPollBackoff = config.getDouble("wait.poll.backoff", 1.5, 1.0, 10.0);
+    private static final Map<String, Duration> waitProfiles = waitProfiles();
+    private static final boolean elementCacheEnabled = config.getBoolean("element.cache.enabled", true);
+    private static final boolean formFillRealKeystrokes = config.getBoolean("form.fill.real.keystrokes", false);
+
+    // Report Configuration
+    private static final String environment = config.getString("environment", "qa");
+    private static final int reportFlushIntervalSeconds = config.getInt("report.flush.interval.seconds", 0, 0);
+    private static final boolean reportEventLogEnabled = config.getBoolean("report.event.log.enabled", true);
+    private static final String reportEventsDir = config.getString("report.events.dir", "test-output/events");
+    private static final String mergedReportDir = config.getString("report.merged.dir", "test-output/merged-report");
+    private static final int reportPageSize = config.getInt("report.page.size", 200, 1);
+
+    // Metrics Configuration
+    private static final boolean webDriverMetricsEnabled = config.getBoolean("metrics.webdriver.enabled", false);
+    private static final int webDriverMetricsTop = config.getInt("metrics.webdriver.top", 10, 0);
+
+    // Execution Configuration
+    private static final String parallelExecution = config.getChoice("parallel.execution", "false",
+            "false", "true", "none", "tests", "classes", "methods");
+    private static final int threadCount = threadCount("thread.count");
+    private static final int browserThreadCount = threadCount("thread.count.browser");
+    private static final int apiThreadCount = threadCount("thread.count.api");
+    private static final int browserMemoryMb = config.getInt("thread.browser.memory.mb", 1024, 1);
+    private static final int retryFailedTests = config.getInt("retry.failed.tests", 0, 0);
+    private static final String rerunManifest = config.getString("rerun.manifest", "");
+    private static final boolean scheduleDurationAware = config.getBoolean("schedule.duration.aware", true);
+    private static final String scheduleHistoryFile = config.getString("schedule.history.file", "test-history/durations.properties");
+    private static final long scheduleDefaultDurationMillis = config.getLong("schedule.default.duration.ms", 30000, 0);
+    private static final int shardIndex = config.getInt("shard.index", 0, 0);
+    private static final int shardTotal = config.getInt("shard.total", 1, 1);
+
+    private static Map<String, Duration> waitProfiles() {
+        Map<String, Duration> profiles = new HashMap<>();
+        profiles.put("default", explicitWait);
+        for (String key : config.keysWithPrefix("wait.profile.")) {
+            profiles.put(key.substring("wait.profile.".length()), config.getSeconds(key, explicitWait.getSeconds()));
         }
+        return Collections.unmodifiableMap(profiles);
+    }
+
+    // "auto" (or unset) is returned as 0
+    private static int threadCount(String key) {
+        return "auto".equalsIgnoreCase(config.getString(key, "auto")) ? 0 : config.getInt(key, 0, 1);
+    }
+
+    static {
+        config.require(shardIndex < shardTotal, "shard.index must be less than shard.total (" + shardTotal + ") but was " + shardIndex);
+        config.validate();
+        logger.info("Configuration validated for environment: {}", environment);
     }
 
     public static String getProperty(String key) {
-        String value = properties.getProperty(key);
+        String value = config.get(key);
         if (value == null) {
             logger.warn("Property '{}' not found in configuration", key);
         }
@@ -36,58 +143,327 @@ public class ConfigManager {
     }
 
     public static String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        String value = config.get(key);
+        return value != null ? value : defaultValue;
     }
 
     // Web Configuration
     public static String getWebUrl() {
-        return getProperty("web.url");
+        return webUrl;
     }
 
     public static String getBrowser() {
-        return getProperty("browser", "chrome");
+        return browser;
+    }
+
+    // Driver Pool Configuration
+    public static boolean isDriverPoolEnabled() {
+        return driverPoolEnabled;
+    }
+
+    public static int getDriverPoolMinSize() {
+        return driverPoolMinSize;
+    }
+
+    public static int getDriverPoolMaxSize() {
+        return driverPoolMaxSize;
+    }
+
+    public static int getDriverPoolLeaseTimeout() {
+        return driverPoolLeaseTimeout;
+    }
+
+    // Driver Binary Cache Configuration
+    public static String getDriverCacheManifest() {
+        return driverCacheManifest;
+    }
+
+    public static int getDriverCacheTtlHours() {
+        return driverCacheTtlHours;
     }
 
     // Mobile Configuration
     public static String getAppiumServerUrl() {
-        return getProperty("appium.server.url", "http://127.0.0.1:4723");
+        return appiumServerUrl;
     }
 
     public static String getAndroidAppPath() {
-        return getProperty("android.app.path");
+        return androidAppPath;
     }
 
     public static String getIOSAppPath() {
-        return getProperty("ios.app.path");
+        return iosAppPath;
     }
 
     public static String getAndroidDeviceName() {
-        return getProperty("android.device.name");
+        return androidDeviceName;
     }
 
     public static String getIOSDeviceName() {
-        return getProperty("ios.device.name");
+        return iosDeviceName;
     }
 
     // API Configuration
     public static String getApiBaseUrl() {
-        return getProperty("api.base.url");
+        return apiBaseUrl;
     }
 
     public static String getApiKey() {
-        return getProperty("api.key");
+        return apiKey;
+    }
+
+    public static int getApiPoolMaxTotal() {
+        return apiPoolMaxTotal;
+    }
+
+    public static int getApiPoolMaxPerRoute() {
+        return apiPoolMaxPerRoute;
+    }
+
+    public static int getApiConnectTimeoutMillis() {
+        return apiConnectTimeoutMillis;
+    }
+
+    public static int getApiReadTimeoutMillis() {
+        return apiReadTimeoutMillis;
+    }
+
+    public static int getApiKeepAliveMillis() {
+        return apiKeepAliveMillis;
+    }
+
+    public static int getApiAsyncThreads() {
+        return apiAsyncThreads;
+    }
+
+    public static int getApiBatchMaxConcurrency() {
+        return apiBatchMaxConcurrency;
+    }
+
+    public static int getApiLogBodyMaxBytes() {
+        return apiLogBodyMaxBytes;
+    }
+
+    public static int getApiLogBodySampleRate() {
+        return apiLogBodySampleRate;
+    }
+
+    public static boolean writeApiBodiesOnFailure() {
+        return apiBodiesOnFailure;
+    }
+
+    public static boolean isApiCacheEnabled() {
+        return apiCacheEnabled;
+    }
+
+    public static long getApiCacheMaxBytes() {
+        return apiCacheMaxBytes;
+    }
+
+    public static int getApiCacheTtlSeconds() {
+        return apiCacheTtlSeconds;
+    }
+
+    public static String getApiTrafficMode() {
+        return apiTrafficMode;
+    }
+
+    public static String getApiCassetteFile() {
+        return apiCassetteFile;
+    }
+
+    public static long getApiReplayLatencyMillis() {
+        return apiReplayLatencyMillis;
+    }
+
+    // Load Test Configuration
+    public static boolean isLoadModeEnabled() {
+        return loadModeEnabled;
+    }
+
+    public static int getLoadRps() {
+        return loadRps;
+    }
+
+    public static int getLoadConcurrency() {
+        return loadConcurrency;
+    }
+
+    public static int getLoadDurationSeconds() {
+        return loadDurationSeconds;
     }
 
     // Test Configuration
     public static int getImplicitWait() {
-        return Integer.parseInt(getProperty("implicit.wait", "10"));
+        return (int) implicitWait.getSeconds();
+    }
+
+    public static Duration getImplicitWaitTimeout() {
+        return implicitWait;
     }
 
     public static int getExplicitWait() {
-        return Integer.parseInt(getProperty("explicit.wait", "15"));
+        return (int) explicitWait.getSeconds();
+    }
+
+    public static Duration getExplicitWaitTimeout() {
+        return explicitWait;
     }
 
     public static boolean takeScreenshotOnFailure() {
-        return Boolean.parseBoolean(getProperty("screenshot.on.failure", "true"));
+        return screenshotOnFailure;
+    }
+
+    public static double getScreenshotScale() {
+        return screenshotScale;
+    }
+
+    public static String getScreenshotFormat() {
+        return screenshotFormat;
+    }
+
+    public static float getScreenshotJpegQuality() {
+        return screenshotJpegQuality;
+    }
+
+    public static int getScreenshotWriterThreads() {
+        return screenshotWriterThreads;
+    }
+
+    public static int getScreenshotQueueCapacity() {
+        return screenshotQueueCapacity;
+    }
+
+    public static int getScreenshotDedupeDistance() {
+        return screenshotDedupeDistance;
+    }
+
+    public static int getScreenshotStoreMaxMb() {
+        return screenshotStoreMaxMb;
+    }
+
+    // Wait Configuration
+    public static boolean isZeroImplicitWait() {
+        return zeroImplicitWait;
+    }
+
+    public static String getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    public static boolean isElementCacheEnabled() {
+        return elementCacheEnabled;
+    }
+
+    public static boolean isFormFillRealKeystrokes() {
+        return formFillRealKeystrokes;
+    }
+
+    public static long getWaitPollInitialMillis() {
+        return waitPollInitialMillis;
+    }
+
+    public static long getWaitPollMaxMillis() {
+        return waitPollMaxMillis;
+    }
+
+    public static double getWaitPollBackoff() {
+        return waitPollBackoff;
+    }
+
+    // Named wait timeouts from wait.profile.<name>, plus "default" for explicit.wait
+    public static Map<String, Duration> getWaitProfiles() {
+        return waitProfiles;
+    }
+
+    // Report Configuration
+    public static String getEnvironment() {
+        return environment;
+    }
+
+    public static int getReportFlushIntervalSeconds() {
+        return reportFlushIntervalSeconds;
+    }
+
+    public static boolean isReportEventLogEnabled() {
+        return reportEventLogEnabled;
+    }
+
+    public static String getReportEventsDir() {
+        return reportEventsDir;
+    }
+
+    public static String getMergedReportDir() {
+        return mergedReportDir;
+    }
+
+    public static int getReportPageSize() {
+        return reportPageSize;
+    }
+
+    // Metrics Configuration
+    public static boolean isWebDriverMetricsEnabled() {
+        return webDriverMetricsEnabled;
+    }
+
+    public static int getWebDriverMetricsTop() {
+        return webDriverMetricsTop;
+    }
+
+    // Execution Configuration
+    // false keeps the parallel mode declared in testng.xml; true means methods
+    public static String getParallelExecution() {
+        return parallelExecution;
+    }
+
+    // Threads per <test> block, or 0 for auto
+    public static int getThreadCount() {
+        return threadCount;
+    }
+
+    // Browser sessions run at once across the suite, or 0 for auto
+    public static int getBrowserThreadCount() {
+        return browserThreadCount;
+    }
+
+    // API test threads run at once across the suite, or 0 for auto
+    public static int getApiThreadCount() {
+        return apiThreadCount;
+    }
+
+    public static int getBrowserMemoryMb() {
+        return browserMemoryMb;
+    }
+
+    // Retries per test for infrastructure failures (driver crash, timeout, network)
+    public static int getRetryFailedTests() {
+        return retryFailedTests;
+    }
+
+    // Rerun manifest file or directory to limit the run to; empty runs everything (-Drerun.manifest)
+    public static String getRerunManifest() {
+        return rerunManifest;
+    }
+
+    public static boolean isScheduleDurationAware() {
+        return scheduleDurationAware;
+    }
+
+    public static String getScheduleHistoryFile() {
+        return scheduleHistoryFile;
+    }
+
+    public static long getScheduleDefaultDurationMillis() {
+        return scheduleDefaultDurationMillis;
+    }
+
+    // Index of this JVM when the suite is split across agents (-Dshard.index)
+    public static int getShardIndex() {
+        return shardIndex;
+    }
+
+    // Number of agents the suite is split across (-Dshard.total); 1 runs everything
+    public static int getShardTotal() {
+        return shardTotal;
     }
 }
@@ -0,0 +1,245 @@
+package com.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Immutable, layered view of the configuration, captured once at startup. A key resolves to
+ * the first value found in: -D system properties, environment variables (UTF_ followed by the
+ * key in UPPER_SNAKE_CASE, e.g. UTF_API_BASE_URL), config-&lt;environment&gt;.properties,
+ * config.properties. The prefix keeps generic variables such as BROWSER or PLATFORM, which CI
+ * agents often export, from overriding the configuration.
+ * Typed reads record problems instead of failing, so every invalid value is reported at once
+ * by {@link #validate()}.
+ */
+final class ConfigSource {
+    private static final Logger logger = LogManager.getLogger(ConfigSource.class);
+    private static final String CONFIG_FILE = "config.properties";
+    static final String ENV_PREFIX = "UTF_";
+    // Used when config.properties is not on the classpath, e.g. running main classes without test resources
+    private static final Path FALLBACK_DIR = Paths.get("src", "test", "resources");
+
+    private final Map<String, String> systemProperties;
+    private final Map<String, String> environment;
+    private final Map<String, String> fileValues;
+    private final List<String> errors = new ArrayList<>();
+
+    private ConfigSource(Map<String, String> systemProperties, Map<String, String> environment, Map<String, String> fileValues) {
+        this.systemProperties = systemProperties;
+        this.environment = environment;
+        this.fileValues = fileValues;
+    }
+
+    static ConfigSource load() {
+        Map<String, String> systemProperties = new HashMap<>();
+        System.getProperties().stringPropertyNames().forEach(name -> systemProperties.put(name, System.getProperty(name)));
+        Map<String, String> environment = new HashMap<>(System.getenv());
+
+        String configFile = systemProperties.getOrDefault("config.file", CONFIG_FILE);
+        Properties base = read(configFile);
+        if (base == null) {
+            throw new RuntimeException("Configuration file not found: " + configFile);
+        }
+        Map<String, String> fileValues = new HashMap<>();
+        base.stringPropertyNames().forEach(name -> fileValues.put(name, base.getProperty(name)));
+
+        String profile = new ConfigSource(systemProperties, environment, fileValues).get("environment");
+        if (profile != null && !profile.isEmpty()) {
+            Properties overrides = read("config-" + profile.toLowerCase() + ".properties");
+            if (overrides != null) {
+                overrides.stringPropertyNames().forEach(name -> fileValues.put(name, overrides.getProperty(name)));
+            }
+        }
+        return new ConfigSource(Collections.unmodifiableMap(systemProperties),
+                Collections.unmodifiableMap(environment), Collections.unmodifiableMap(fileValues));
+    }
+
+    private static Properties read(String name) {
+        Properties properties = new Properties();
+        try (InputStream in = ConfigSource.class.getClassLoader().getResourceAsStream(name)) {
+            if (in != null) {
+                properties.load(in);
+                logger.info("Configuration loaded successfully from classpath:{}", name);
+                return properties;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read configuration: " + name, e);
+        }
+
+        Path file = Paths.get(name).isAbsolute() || Files.exists(Paths.get(name)) ? Paths.get(name) : FALLBACK_DIR.resolve(name);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+            logger.info("Configuration loaded successfully from {}", file);
+            return properties;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read configuration: " + file, e);
+        }
+    }
+
+    /**
+     * Returns the resolved value of a key, or null if no layer defines it.
+     */
+    String get(String key) {
+        String value = systemProperties.get(key);
+        if (value == null) {
+            value = environment.get(envName(key));
+        }
+        if (value == null) {
+            value = fileValues.get(key);
+        }
+        return value != null ? value.trim() : null;
+    }
+
+    /**
+     * Returns the names of all keys starting with the prefix that are set in any layer. A key
+     * only set as an environment variable is named in lower case with dots, e.g.
+     * UTF_WAIT_PROFILE_SLOW becomes wait.profile.slow.
+     */
+    Set<String> keysWithPrefix(String prefix) {
+        Set<String> keys = new TreeSet<>();
+        fileValues.keySet().stream().filter(key -> key.startsWith(prefix)).forEach(keys::add);
+        systemProperties.keySet().stream().filter(key -> key.startsWith(prefix)).forEach(keys::add);
+        Set<String> knownEnvNames = new HashSet<>();
+        keys.forEach(key -> knownEnvNames.add(envName(key)));
+        String envPrefix = envName(prefix);
+        for (String name : environment.keySet()) {
+            if (name.startsWith(envPrefix) && name.length() > envPrefix.length() && !knownEnvNames.contains(name)) {
+                keys.add(name.substring(ENV_PREFIX.length()).toLowerCase(Locale.ROOT).replace('_', '.'));
+            }
+        }
+        return keys;
+    }
+
+    private static String envName(String key) {
+        return ENV_PREFIX + key.toUpperCase(Locale.ROOT).replace('.', '_').replace('-', '_');
+    }
+
+    String getString(String key, String defaultValue) {
+        String value = get(key);
+        return value == null || value.isEmpty() ? defaultValue : value;
+    }
+
+    int getInt(String key, int defaultValue, int min) {
+        return (int) getLong(key, defaultValue, min);
+    }
+
+    long getLong(String key, long defaultValue, long min) {
+        String value = get(key);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            long parsed = Long.parseLong(value);
+            if (parsed < min) {
+                errors.add(key + " must be at least " + min + " but was " + parsed);
+                return defaultValue;
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            errors.add(key + " must be a whole number but was '" + value + "'");
+            return defaultValue;
+        }
+    }
+
+    double getDouble(String key, double defaultValue, double min, double max) {
+        String value = get(key);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            double parsed = Double.parseDouble(value);
+            if (parsed < min || parsed > max) {
+                errors.add(key + " must be between " + min + " and " + max + " but was " + parsed);
+                return defaultValue;
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            errors.add(key + " must be a number but was '" + value + "'");
+            return defaultValue;
+        }
+    }
+
+    boolean getBoolean(String key, boolean defaultValue) {
+        String value = get(key);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+            errors.add(key + " must be true or false but was '" + value + "'");
+            return defaultValue;
+        }
+        return Boolean.parseBoolean(value);
+    }
+
+    Duration getSeconds(String key, long defaultSeconds) {
+        return Duration.ofSeconds(getLong(key, defaultSeconds, 0));
+    }
+
+    Duration getMillis(String key, long defaultMillis) {
+        return Duration.ofMillis(getLong(key, defaultMillis, 0));
+    }
+
+    // Returns the value lower-cased, recording an error unless it is one of the allowed values
+    String getChoice(String key, String defaultValue, String... allowed) {
+        String value = getString(key, defaultValue).toLowerCase();
+        if (!Arrays.asList(allowed).contains(value)) {
+            errors.add(key + " must be one of " + Arrays.toString(allowed) + " but was '" + value + "'");
+            return defaultValue;
+        }
+        return value;
+    }
+
+    // Returns the value unchanged, recording an error if it is set but not a valid URL
+    String getUrl(String key, String defaultValue) {
+        String value = getString(key, defaultValue);
+        if (value != null) {
+            try {
+                new URL(value);
+            } catch (MalformedURLException e) {
+                errors.add(key + " must be a URL but was '" + value + "'");
+            }
+        }
+        return value;
+    }
+
+    // Records an error for settings that are only invalid in combination
+    void require(boolean condition, String message) {
+        if (!condition) {
+            errors.add(message);
+        }
+    }
+
+    /**
+     * Throws if any typed read found an invalid value, listing all of them.
+     */
+    void validate() {
+        if (!errors.isEmpty()) {
+            String message = "Invalid configuration:\n  " + String.join("\n  ", errors);
+            logger.error(message);
+            throw new IllegalStateException(message);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background pipeline that encodes and stores screenshots off the test thread. The work
+ * queue is bounded; when it is full the submitting thread does the work itself, which slows
+ * producers down to the speed of the disk instead of buffering screenshots without limit.
+ */
+public class ScreenshotPipeline {
+    private static final Logger logger = LogManager.getLogger(ScreenshotPipeline.class);
+    private static final ThreadPoolExecutor executor = createExecutor();
+    private static final Object lock = new Object();
+    private static int pending;
+
+    private ScreenshotPipeline() {
+    }
+
+    private static ThreadPoolExecutor createExecutor() {
+        int threads = Math.max(1, ConfigManager.getScreenshotWriterThreads());
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, ConfigManager.getScreenshotQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "screenshot-writer-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Returns the file extension screenshots are written with for the configured format.
+     */
+    public static String getExtension() {
+        return isJpeg() ? "jpg" : "png";
+    }
+
+    /**
+     * Queues a PNG screenshot to be re-encoded as configured and stored in {@link ScreenshotStore}.
+     * The returned future completes with the stored blob path, or null if storing failed.
+     */
+    public static CompletableFuture<Path> submit(byte[] png, String name) {
+        CompletableFuture<Path> written = new CompletableFuture<>();
+        synchronized (lock) {
+            pending++;
+        }
+        executor.execute(() -> {
+            try {
+                boolean dedupe = ConfigManager.getScreenshotDedupeDistance() >= 0;
+                BufferedImage image = dedupe || needsReencoding() ? ImageIO.read(new ByteArrayInputStream(png)) : null;
+                Long perceptualHash = dedupe && image != null ? ScreenshotStore.differenceHash(image) : null;
+                Path stored = ScreenshotStore.store(encode(png, image), getExtension(), perceptualHash, name);
+                logger.info("Screenshot for {} stored at: {}", name, stored);
+                written.complete(stored);
+            } catch (Exception e) {
+                logger.error("Failed to store screenshot for: {}", name, e);
+                written.complete(null);
+            } finally {
+                synchronized (lock) {
+                    pending--;
+                    lock.notifyAll();
+                }
+            }
+        });
+        return written;
+    }
+
+    /**
+     * Waits until every queued screenshot has been written and its future completed.
+     */
+    public static void drain(long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (lock) {
+            while (pending > 0) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    logger.warn("Timed out waiting for {} screenshots to be written", pending);
+                    return;
+                }
+                try {
+                    lock.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static boolean needsReencoding() {
+        return ConfigManager.getScreenshotScale() < 1.0 || isJpeg();
+    }
+
+    // Keeps the driver's PNG as is unless downscaling or JPEG output is configured
+    private static byte[] encode(byte[] png, BufferedImage image) throws IOException {
+        if (!needsReencoding() || image == null) {
+            return png;
+        }
+        double scale = ConfigManager.getScreenshotScale();
+
+        int width = Math.max(1, (int) Math.round(image.getWidth() * Math.min(scale, 1.0)));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * Math.min(scale, 1.0)));
+        BufferedImage output = new BufferedImage(width, height, isJpeg() ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = output.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(image, 0, 0, width, height, null);
+        graphics.dispose();
+
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream(png.length / 2);
+        if (!isJpeg()) {
+            ImageIO.write(output, "png", encoded);
+            return encoded.toByteArray();
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(encoded)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(ConfigManager.getScreenshotJpegQuality());
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(output, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return encoded.toByteArray();
+    }
+
+    private static boolean isJpeg() {
+        String format = ConfigManager.getScreenshotFormat().trim().toLowerCase();
+        return format.equals("jpg") || format.equals("jpeg");
+    }
+}
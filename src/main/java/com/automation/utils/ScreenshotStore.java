@@ -0,0 +1,246 @@
+package com.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed screenshot storage. Blobs are named by the SHA-256 of their bytes, and with
+ * screenshot.dedupe.distance &gt;= 0 a 64-bit difference hash lets a new screenshot reuse a
+ * stored one of the same test that looks the same. Reusing a blob refreshes its modification
+ * time; when the directory grows past screenshot.store.max.mb the least recently used blobs are
+ * deleted, except those written or reused by the current run, which its report links to.
+ */
+public class ScreenshotStore {
+    private static final Logger logger = LogManager.getLogger(ScreenshotStore.class);
+    private static final Path STORE_DIR = Paths.get("test-output", "screenshots");
+    private static final int MAX_INDEXED_HASHES = 4096;
+    // Eviction trims the store to this fraction of the limit so it does not run on every write
+    private static final double EVICTION_TARGET = 0.9;
+
+    private static final Deque<IndexedBlob> index = new ArrayDeque<>();
+    private static final Set<Path> usedThisRun = new HashSet<>();
+    private static long totalBytes = -1;
+
+    private ScreenshotStore() {
+    }
+
+    /**
+     * Stores an encoded screenshot and returns the path of the blob to reference. Near
+     * duplicates are only reused within the same scope (the test name), so another test's
+     * evidence is never shown. The perceptual hash may be null, in which case only exact
+     * duplicates are detected.
+     */
+    public static Path store(byte[] bytes, String extension, Long perceptualHash, String scope) {
+        try {
+            Files.createDirectories(STORE_DIR);
+            if (perceptualHash != null) {
+                Path similar = findSimilar(perceptualHash, scope);
+                if (similar != null) {
+                    logger.debug("Reusing similar screenshot: {}", similar);
+                    return used(similar);
+                }
+            }
+
+            Path blob = STORE_DIR.resolve(sha256(bytes) + "." + extension);
+            if (touch(blob)) {
+                remember(perceptualHash, scope, blob);
+                logger.debug("Reusing identical screenshot: {}", blob);
+                return used(blob);
+            }
+
+            Path temp = Files.createTempFile(STORE_DIR, ".blob", ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(temp, blob, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            remember(perceptualHash, scope, blob);
+            used(blob);
+            added(bytes.length);
+            return blob;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store screenshot", e);
+        }
+    }
+
+    /**
+     * Difference hash: one bit per horizontally adjacent pair of cells in a 9x8 grid of
+     * average luminance. Screenshots of the same page differ in only a few bits.
+     */
+    public static long differenceHash(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        long[] sums = new long[9 * 8];
+        int[] counts = new int[9 * 8];
+        int step = Math.max(1, Math.min(width / 72, height / 64));
+        for (int y = 0; y < height; y += step) {
+            int row = Math.min(7, y * 8 / height);
+            for (int x = 0; x < width; x += step) {
+                int rgb = image.getRGB(x, y);
+                int luminance = (((rgb >> 16) & 0xff) * 299 + ((rgb >> 8) & 0xff) * 587 + (rgb & 0xff) * 114) / 1000;
+                int cell = row * 9 + Math.min(8, x * 9 / width);
+                sums[cell] += luminance;
+                counts[cell]++;
+            }
+        }
+
+        long hash = 0;
+        for (int row = 0; row < 8; row++) {
+            for (int column = 0; column < 8; column++) {
+                int left = row * 9 + column;
+                long leftAverage = counts[left] == 0 ? 0 : sums[left] / counts[left];
+                long rightAverage = counts[left + 1] == 0 ? 0 : sums[left + 1] / counts[left + 1];
+                hash = (hash << 1) | (leftAverage > rightAverage ? 1 : 0);
+            }
+        }
+        return hash;
+    }
+
+    private static synchronized Path used(Path blob) {
+        usedThisRun.add(blob);
+        return blob;
+    }
+
+    private static synchronized Path findSimilar(long perceptualHash, String scope) {
+        int maxDistance = ConfigManager.getScreenshotDedupeDistance();
+        if (maxDistance < 0) {
+            return null;
+        }
+        Iterator<IndexedBlob> blobs = index.descendingIterator();
+        while (blobs.hasNext()) {
+            IndexedBlob blob = blobs.next();
+            if (blob.scope.equals(scope) && Long.bitCount(blob.hash ^ perceptualHash) <= maxDistance) {
+                if (touch(blob.path)) {
+                    return blob.path;
+                }
+                blobs.remove();
+            }
+        }
+        return null;
+    }
+
+    private static synchronized void remember(Long perceptualHash, String scope, Path blob) {
+        if (perceptualHash == null) {
+            return;
+        }
+        index.addLast(new IndexedBlob(perceptualHash, scope, blob));
+        if (index.size() > MAX_INDEXED_HASHES) {
+            index.removeFirst();
+        }
+    }
+
+    private static synchronized void added(long size) throws IOException {
+        long maxBytes = ConfigManager.getScreenshotStoreMaxMb() * 1024L * 1024L;
+        if (totalBytes < 0) {
+            // First write of the run: account for blobs left by earlier runs
+            totalBytes = 0;
+            for (Path path : listBlobs()) {
+                totalBytes += Files.size(path);
+            }
+        } else {
+            totalBytes += size;
+        }
+        if (maxBytes <= 0 || totalBytes <= maxBytes) {
+            return;
+        }
+
+        List<Path> oldestFirst = listBlobs().stream()
+                .sorted(Comparator.comparing(ScreenshotStore::lastModified))
+                .collect(Collectors.toList());
+        int evicted = 0;
+        for (Path path : oldestFirst) {
+            if (totalBytes <= maxBytes * EVICTION_TARGET) {
+                break;
+            }
+            if (usedThisRun.contains(path)) {
+                continue;
+            }
+            long evictedSize = Files.size(path);
+            if (Files.deleteIfExists(path)) {
+                totalBytes -= evictedSize;
+                evicted++;
+            }
+        }
+        index.removeIf(indexed -> !Files.exists(indexed.path));
+        if (evicted > 0) {
+            logger.info("Evicted {} screenshots to keep the store under {} MB", evicted, maxBytes / (1024 * 1024));
+        }
+        if (totalBytes > maxBytes) {
+            logger.warn("Screenshot store holds {} MB, over the {} MB limit, all of it used by this run",
+                    totalBytes / (1024 * 1024), maxBytes / (1024 * 1024));
+        }
+    }
+
+    private static List<Path> listBlobs() throws IOException {
+        try (Stream<Path> files = Files.list(STORE_DIR)) {
+            return files.filter(path -> !path.getFileName().toString().startsWith(".")).collect(Collectors.toList());
+        }
+    }
+
+    // Marks a blob as recently used; returns false if it no longer exists
+    private static boolean touch(Path blob) {
+        try {
+            Files.setLastModifiedTime(blob, FileTime.fromMillis(System.currentTimeMillis()));
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            StringBuilder hex = new StringBuilder(64);
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(bytes)) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static class IndexedBlob {
+        private final long hash;
+        private final String scope;
+        private final Path path;
+
+        private IndexedBlob(long hash, String scope, Path path) {
+            this.hash = hash;
+            this.scope = scope;
+            this.path = path;
+        }
+    }
+}
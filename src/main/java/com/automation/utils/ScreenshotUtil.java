@@ -1,54 +1,43 @@
 package com.automation.utils;
 
 import com.automation.core.DriverManager;
-import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.File;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
 
 public class ScreenshotUtil {
     private static final Logger logger = LogManager.getLogger(ScreenshotUtil.class);
-    private static final String SCREENSHOT_DIR = "test-output/screenshots/";
 
     public static String captureScreenshot(String testName) {
-        try {
-            // Create screenshots directory if it doesn't exist
-            File directory = new File(SCREENSHOT_DIR);
-            if (!directory.exists()) {
-                directory.mkdirs();
-            }
-
-            String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
-            String fileName = testName + "_" + timestamp + ".png";
-            String filePath = SCREENSHOT_DIR + fileName;
+        Path path = captureScreenshotAsync(testName).join();
+        return path != null ? path.toString() : null;
+    }
 
-            // Try web driver first
+    /**
+     * Grabs the screenshot bytes on the calling thread and hands encoding and writing to
+     * {@link ScreenshotPipeline}. The future completes with the stored blob path, or null on failure.
+     */
+    public static CompletableFuture<Path> captureScreenshotAsync(String testName) {
+        try {
+            TakesScreenshot screenshot = null;
+            // Try web driver first, then mobile driver
             if (DriverManager.getWebDriver() != null) {
-                TakesScreenshot screenshot = (TakesScreenshot) DriverManager.getWebDriver();
-                File srcFile = screenshot.getScreenshotAs(OutputType.FILE);
-                File destFile = new File(filePath);
-                FileUtils.copyFile(srcFile, destFile);
-                logger.info("Screenshot captured: {}", filePath);
-                return filePath;
+                screenshot = (TakesScreenshot) DriverManager.getWebDriver();
+            } else if (DriverManager.getMobileDriver() != null) {
+                screenshot = (TakesScreenshot) DriverManager.getMobileDriver();
             }
-            // Try mobile driver
-            else if (DriverManager.getMobileDriver() != null) {
-                TakesScreenshot screenshot = (TakesScreenshot) DriverManager.getMobileDriver();
-                File srcFile = screenshot.getScreenshotAs(OutputType.FILE);
-                File destFile = new File(filePath);
-                FileUtils.copyFile(srcFile, destFile);
-                logger.info("Screenshot captured: {}", filePath);
-                return filePath;
+
+            if (screenshot != null) {
+                return ScreenshotPipeline.submit(screenshot.getScreenshotAs(OutputType.BYTES), testName);
             }
         } catch (Exception e) {
             logger.error("Failed to capture screenshot for test: {}", testName, e);
         }
-        return null;
+        return CompletableFuture.completedFuture(null);
     }
 
     public static String captureScreenshotAsBase64(String testName) {
@@ -0,0 +1,52 @@
+package com.automation.api;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class JsonPathExpressionTest {
+
+    @Test
+    public void testSegmentsMatchFieldsIndicesAndWildcards() {
+        JsonPathExpression path = JsonPathExpression.compile("$.users[*].id");
+        Assert.assertEquals(path.length(), 3);
+        Assert.assertTrue(path.matches(0, "users", 0));
+        Assert.assertFalse(path.matches(0, "groups", 0));
+        Assert.assertTrue(path.matches(1, null, 7));
+        Assert.assertTrue(path.matches(2, "id", 0));
+
+        JsonPathExpression indexed = JsonPathExpression.compile("users[1].name");
+        Assert.assertTrue(indexed.matches(1, null, 1));
+        Assert.assertFalse(indexed.matches(1, null, 0));
+        Assert.assertFalse(indexed.matches(1, "1", 0));
+    }
+
+    @Test
+    public void testQuotedBracketSegmentIsAFieldName() {
+        JsonPathExpression path = JsonPathExpression.compile("$['first name']");
+        Assert.assertEquals(path.length(), 1);
+        Assert.assertTrue(path.matches(0, "first name", 0));
+    }
+
+    @Test
+    public void testQuotedWildcardAndDigitsAreLiteralKeys() {
+        JsonPathExpression star = JsonPathExpression.compile("$.totals['*']");
+        Assert.assertTrue(star.matches(1, "*", 0));
+        Assert.assertFalse(star.matches(1, "count", 0));
+
+        JsonPathExpression digits = JsonPathExpression.compile("$.byYear[\"2024\"]");
+        Assert.assertTrue(digits.matches(1, "2024", 0));
+        Assert.assertFalse(digits.matches(1, null, 2024));
+    }
+
+    @DataProvider
+    public Object[][] invalidPaths() {
+        return new Object[][]{{"$..id"}, {"users..id"}, {"users[0]..id"}, {"users."}, {"users[?(@.id)]"}, {"users[0"},
+                {"users[']"}, {"users['id]"}, {"users['id\"]"}};
+    }
+
+    @Test(dataProvider = "invalidPaths", expectedExceptions = IllegalArgumentException.class)
+    public void testUnsupportedSyntaxIsRejected(String path) {
+        JsonPathExpression.compile(path);
+    }
+}
@@ -0,0 +1,70 @@
+package com.automation.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class StreamingJsonExtractorTest {
+    private static final String USERS = "{\"total\":3,\"users\":["
+            + "{\"id\":1,\"email\":\"a@example.com\",\"tags\":[\"x\"]},"
+            + "{\"id\":2,\"email\":\"b@example.com\",\"tags\":[]},"
+            + "{\"id\":3,\"email\":\"not-an-email\",\"tags\":[\"y\",\"z\"]}]}";
+
+    private static StreamingJsonExtractor extractor(String json) {
+        return StreamingJsonExtractor.from(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testCountsAndSelectsInOnePass() {
+        JsonExtraction extraction = extractor(USERS)
+                .count("users[*]")
+                .select("users[*].id")
+                .first("users[1].email")
+                .count("users[*].tags[*]")
+                .evaluate();
+
+        Assert.assertEquals(extraction.getCount("users[*]"), 3);
+        Assert.assertEquals(extraction.getValues("users[*].id"), Arrays.asList(1, 2, 3));
+        Assert.assertEquals(extraction.getString("users[1].email"), "b@example.com");
+        Assert.assertEquals(extraction.getCount("users[*].tags[*]"), 3);
+    }
+
+    @Test
+    public void testSelectStopsAtLimitAndMissingPathsAreEmpty() {
+        JsonExtraction extraction = extractor(USERS)
+                .select("users[*].email", 2)
+                .select("users[*].phone")
+                .evaluate();
+
+        Assert.assertEquals(extraction.getValues("users[*].email"), Arrays.asList("a@example.com", "b@example.com"));
+        Assert.assertTrue(extraction.getValues("users[*].phone").isEmpty());
+        Assert.assertNull(extraction.getFirst("users[*].phone"));
+    }
+
+    @Test
+    public void testExpectationsReportEveryViolation() {
+        JsonExtraction extraction = extractor(USERS)
+                .expect("users[*].email", value -> value.toString().contains("@"), "valid email")
+                .evaluate();
+
+        Assert.assertEquals(extraction.getViolations().size(), 1);
+        Assert.assertThrows(AssertionError.class, extraction::assertExpectations);
+    }
+
+    @Test
+    public void testSelectedContainersAreTreesAndDeeperPathsStillMatch() {
+        JsonExtraction extraction = extractor(USERS)
+                .first("users[0]")
+                .select("users[0].tags[*]")
+                .evaluate();
+
+        Object first = extraction.getFirst("users[0]");
+        Assert.assertTrue(first instanceof JsonNode, "Expected a JSON tree but was " + first);
+        Assert.assertEquals(((JsonNode) first).path("email").asText(), "a@example.com");
+        Assert.assertEquals(extraction.getValues("users[0].tags[*]"), Arrays.asList("x"));
+    }
+}
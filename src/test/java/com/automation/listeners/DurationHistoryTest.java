@@ -0,0 +1,46 @@
+package com.automation.listeners;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class DurationHistoryTest {
+
+    private static Map<String, Long> durations() {
+        Map<String, Long> durations = new LinkedHashMap<>();
+        durations.put("com.example.SearchTest#byName", 1000L);
+        durations.put("com.example.SearchTest#byTag", 3000L);
+        durations.put("com.example.SearchTest#byDate", 2000L);
+        durations.put("com.example.CheckoutTest#pay", 9000L);
+        return durations;
+    }
+
+    @Test
+    public void testUnknownTestsAreEstimatedFromTheirClassThenTheSuite() {
+        DurationHistory history = DurationHistory.of(durations());
+
+        Assert.assertTrue(history.isKnown("com.example.SearchTest#byName"));
+        Assert.assertEquals(history.estimate("com.example.SearchTest#byName"), 1000);
+        Assert.assertFalse(history.isKnown("com.example.SearchTest#byAuthor"));
+        Assert.assertEquals(history.estimate("com.example.SearchTest#byAuthor"), 2000, "median of SearchTest");
+        Assert.assertEquals(history.estimate("com.example.ProfileTest#edit"), 3000, "median of all tests");
+        Assert.assertEquals(history.estimateClass("com.example.SearchTest"), 6000);
+        Assert.assertEquals(history.size(), 4);
+    }
+
+    @Test
+    public void testFingerprintDependsOnContentNotOrder() {
+        Map<String, Long> reversed = new LinkedHashMap<>();
+        durations().entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByKey().reversed())
+                .forEach(entry -> reversed.put(entry.getKey(), entry.getValue()));
+        Map<String, Long> changed = durations();
+        changed.put("com.example.CheckoutTest#pay", 9001L);
+
+        String fingerprint = DurationHistory.of(durations()).fingerprint();
+        Assert.assertEquals(DurationHistory.of(reversed).fingerprint(), fingerprint);
+        Assert.assertNotEquals(DurationHistory.of(changed).fingerprint(), fingerprint);
+    }
+}
@@ -0,0 +1,166 @@
+package com.automation.listeners;
+
+import org.testng.Assert;
+import org.testng.ITestNGMethod;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class ShardPlanTest {
+    private static final XmlTest XML_TEST = xmlTest("Unit");
+
+    static class Checkout {
+    }
+
+    static class Search {
+    }
+
+    static class Profile {
+    }
+
+    private static XmlTest xmlTest(String name) {
+        XmlTest test = new XmlTest(new XmlSuite());
+        test.setName(name);
+        return test;
+    }
+
+    // Just enough of ITestNGMethod for ShardPlan
+    private static ITestNGMethod method(Class<?> testClass, String name, String... dependsOn) {
+        return (ITestNGMethod) Proxy.newProxyInstance(ITestNGMethod.class.getClassLoader(), new Class<?>[]{ITestNGMethod.class},
+                (proxy, invoked, args) -> {
+                    switch (invoked.getName()) {
+                        case "getRealClass":
+                            return testClass;
+                        case "getMethodName":
+                            return name;
+                        case "getXmlTest":
+                            return XML_TEST;
+                        case "getMethodsDependedUpon":
+                            return dependsOn;
+                        case "getGroupsDependedUpon":
+                            return new String[0];
+                        case "toString":
+                            return testClass.getSimpleName() + "#" + name;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            throw new UnsupportedOperationException(invoked.getName());
+                    }
+                });
+    }
+
+    private static List<ITestNGMethod> methods() {
+        List<ITestNGMethod> methods = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            methods.add(method(Search.class, "search" + i));
+        }
+        for (int i = 0; i < 5; i++) {
+            methods.add(method(Profile.class, "profile" + i));
+        }
+        methods.add(method(Checkout.class, "addToCart"));
+        methods.add(method(Checkout.class, "pay", "addToCart"));
+        methods.add(method(Checkout.class, "confirm", "pay"));
+        return methods;
+    }
+
+    private static Map<String, Long> durations() {
+        Map<String, Long> durations = new LinkedHashMap<>();
+        for (int i = 0; i < 12; i += 2) {
+            durations.put(DurationHistory.key(Search.class.getName(), "search" + i), 1000L + i * 250);
+        }
+        durations.put(DurationHistory.key(Checkout.class.getName(), "pay"), 9000L);
+        // Profile has no history, so its methods fall back to the suite median
+        return durations;
+    }
+
+    @Test
+    public void testEveryTestRunsOnExactlyOneShard() {
+        List<ITestNGMethod> methods = methods();
+        for (int total = 1; total <= 5; total++) {
+            ShardPlan plan = ShardPlan.compute(methods, DurationHistory.of(durations()), total);
+            int planned = 0;
+            for (int shard = 0; shard < total; shard++) {
+                planned += plan.size(shard);
+            }
+            Assert.assertEquals(planned, methods.size(), "Tests planned across " + total + " shards");
+            for (ITestNGMethod method : methods) {
+                int shards = 0;
+                for (int shard = 0; shard < total; shard++) {
+                    if (plan.includes(method, shard)) {
+                        shards++;
+                    }
+                }
+                Assert.assertEquals(shards, 1, method + " with " + total + " shards");
+            }
+        }
+    }
+
+    @Test
+    public void testAgentsAgreeRegardlessOfDiscoveryOrder() {
+        List<ITestNGMethod> methods = methods();
+        Map<String, Long> durations = durations();
+        ShardPlan first = ShardPlan.compute(methods, DurationHistory.of(durations), 3);
+
+        List<ITestNGMethod> shuffled = new ArrayList<>(methods);
+        Collections.shuffle(shuffled, new Random(42));
+        List<String> keys = new ArrayList<>(durations.keySet());
+        Collections.reverse(keys);
+        Map<String, Long> reordered = new LinkedHashMap<>();
+        keys.forEach(key -> reordered.put(key, durations.get(key)));
+        ShardPlan second = ShardPlan.compute(shuffled, DurationHistory.of(reordered), 3);
+
+        for (ITestNGMethod method : methods) {
+            for (int shard = 0; shard < 3; shard++) {
+                Assert.assertEquals(second.includes(method, shard), first.includes(method, shard), method + " on shard " + shard);
+            }
+        }
+        for (int shard = 0; shard < 3; shard++) {
+            Assert.assertEquals(second.load(shard), first.load(shard));
+        }
+    }
+
+    @Test
+    public void testDependentMethodsStayOnOneShard() {
+        ShardPlan plan = ShardPlan.compute(methods(), DurationHistory.of(durations()), 4);
+        List<ITestNGMethod> checkout = new ArrayList<>();
+        for (ITestNGMethod method : methods()) {
+            if (method.getRealClass() == Checkout.class) {
+                checkout.add(method);
+            }
+        }
+        for (int shard = 0; shard < 4; shard++) {
+            boolean first = plan.includes(checkout.get(0), shard);
+            for (ITestNGMethod method : checkout) {
+                Assert.assertEquals(plan.includes(method, shard), first, method + " on shard " + shard);
+            }
+        }
+    }
+
+    @Test
+    public void testLongestTestsAreSpreadFirst() {
+        Map<String, Long> durations = new HashMap<>();
+        List<ITestNGMethod> methods = new ArrayList<>();
+        long[] millis = {8000, 7000, 3000, 3000, 2000, 1000};
+        for (int i = 0; i < millis.length; i++) {
+            methods.add(method(Search.class, "search" + i));
+            durations.put(DurationHistory.key(Search.class.getName(), "search" + i), millis[i]);
+        }
+        ShardPlan plan = ShardPlan.compute(methods, DurationHistory.of(durations), 2);
+
+        Assert.assertNotEquals(plan.includes(methods.get(0), 0), plan.includes(methods.get(1), 0),
+                "The two longest tests should run on different shards");
+        Assert.assertEquals(plan.load(0) + plan.load(1), 24000);
+        Assert.assertEquals(plan.load(0), plan.load(1), "Greedy split of 8+3+1 and 7+3+2 seconds");
+    }
+}
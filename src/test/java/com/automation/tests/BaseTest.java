@@ -1,18 +1,35 @@
 package com.automation.tests;
 
+import com.automation.api.LoadTest;
+import com.automation.api.LoadTestRunner;
 import com.automation.core.DriverManager;
 import com.automation.utils.ConfigManager;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.remote.DesiredCapabilities;
+import org.testng.IHookCallBack;
+import org.testng.IHookable;
+import org.testng.ITestResult;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Optional;
 import org.testng.annotations.Parameters;
 
-public class BaseTest {
+public class BaseTest implements IHookable {
     protected static final Logger logger = LogManager.getLogger(BaseTest.class);
 
+    // Runs @LoadTest methods as load scenarios when load mode is enabled
+    @Override
+    public void run(IHookCallBack callBack, ITestResult testResult) {
+        boolean loadTest = testResult.getMethod().getConstructorOrMethod().getMethod()
+                .isAnnotationPresent(LoadTest.class);
+        if (loadTest && LoadTestRunner.isLoadModeEnabled()) {
+            LoadTestRunner.runTestMethod(this, testResult);
+        } else {
+            callBack.runTestMethod(testResult);
+        }
+    }
+
     @BeforeMethod
     @Parameters({"platform", "browser", "deviceName"})
     public void setup(@Optional("web") String platform, 
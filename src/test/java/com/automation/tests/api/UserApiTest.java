@@ -7,8 +7,11 @@ import io.restassured.response.Response;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 public class UserApiTest extends BaseTest {
 
@@ -90,10 +93,35 @@ public class UserApiTest extends BaseTest {
         
         apiBase.verifyStatusCode(response, 200);
         
-        int userCount = response.jsonPath().getList("users").size();
+        int userCount = apiBase.streamJson(response)
+                .count("users[*]")
+                .evaluate()
+                .getCount("users[*]");
         ExtentManager.info("Number of users returned: " + userCount);
         
         Assert.assertTrue(userCount > 0, "Should return at least one user");
         ExtentManager.pass("GET users with params test passed");
     }
+
+    @Test(description = "Create multiple users concurrently")
+    public void testCreateUsersInBatch() {
+        ExtentManager.info("Starting batch create users test");
+
+        List<Supplier<Response>> calls = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            Map<String, Object> requestBody = new HashMap<>();
+            requestBody.put("name", "Batch User " + i);
+            requestBody.put("email", "batch.user" + i + "@example.com");
+            calls.add(() -> apiBase.post("/users", requestBody));
+        }
+
+        List<Response> responses = apiBase.batch(calls);
+
+        ExtentManager.info("Verifying status codes");
+        for (Response response : responses) {
+            apiBase.verifyStatusCode(response, 201);
+        }
+
+        ExtentManager.pass("Batch create users test passed");
+    }
 }
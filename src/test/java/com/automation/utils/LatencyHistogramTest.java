@@ -0,0 +1,84 @@
+package com.automation.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class LatencyHistogramTest {
+    // Documented bound: at most 1/64 relative error
+    private static final double MAX_RELATIVE_ERROR = 1.0 / 64;
+
+    @Test
+    public void testEmptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(histogram.getValueAtPercentile(99), 0);
+        Assert.assertEquals(histogram.getMean(), 0.0);
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+        Assert.assertEquals(histogram.getCount(), 100);
+        Assert.assertEquals(histogram.getValueAtPercentile(50), 50);
+        Assert.assertEquals(histogram.getValueAtPercentile(99), 99);
+        Assert.assertEquals(histogram.getValueAtPercentile(100), 100);
+        Assert.assertEquals(histogram.getMean(), 50.5);
+    }
+
+    @Test
+    public void testPercentilesStayWithinTheDocumentedError() {
+        Random random = new Random(7);
+        long[] values = new long[20_000];
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < values.length; i++) {
+            // Log-uniform from 1 microsecond to about 17 minutes
+            values[i] = (long) Math.exp(random.nextDouble() * Math.log(1_000_000_000L));
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double percentile : new double[]{1, 25, 50, 90, 99, 99.9}) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long reported = histogram.getValueAtPercentile(percentile);
+            Assert.assertTrue(reported >= exact, "p" + percentile + " " + reported + " below exact " + exact);
+            Assert.assertTrue(reported - exact <= exact * MAX_RELATIVE_ERROR,
+                    "p" + percentile + " " + reported + " too far from exact " + exact);
+        }
+        Assert.assertEquals(histogram.getValueAtPercentile(100), values[values.length - 1]);
+        Assert.assertEquals(histogram.getMax(), values[values.length - 1]);
+    }
+
+    @Test
+    public void testNegativeValuesAreRecordedAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        Assert.assertEquals(histogram.getValueAtPercentile(100), 0);
+        Assert.assertEquals(histogram.getTotal(), 0);
+    }
+
+    @Test
+    public void testConcurrentRecordingLosesNothing() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int thread = 0; thread < 4; thread++) {
+            executor.execute(() -> {
+                for (int i = 1; i <= 10_000; i++) {
+                    histogram.record(i);
+                }
+            });
+        }
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        Assert.assertEquals(histogram.getCount(), 40_000);
+        Assert.assertEquals(histogram.getTotal(), 4L * 10_000 * 10_001 / 2);
+        Assert.assertEquals(histogram.getMax(), 10_000);
+    }
+}